@@ -0,0 +1,50 @@
+-- Create permissions table
+CREATE TABLE permissions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) UNIQUE NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create role_permissions table (permissions granted directly to a role)
+CREATE TABLE role_permissions (
+    role_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    FOREIGN KEY (role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    FOREIGN KEY (permission_id) REFERENCES permissions(id) ON DELETE CASCADE
+);
+
+-- Create role_hierarchy table (a parent role inherits everything its child roles have)
+CREATE TABLE role_hierarchy (
+    parent_role_id BIGINT NOT NULL,
+    child_role_id BIGINT NOT NULL,
+    PRIMARY KEY (parent_role_id, child_role_id),
+    FOREIGN KEY (parent_role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    FOREIGN KEY (child_role_id) REFERENCES roles(id) ON DELETE CASCADE,
+    CHECK (parent_role_id <> child_role_id)
+);
+
+-- Insert default permissions
+INSERT INTO permissions (name, description) VALUES
+    ('users:read', 'Read any user profile'),
+    ('users:lock', 'Lock and unlock user accounts'),
+    ('users:update', 'Update any user profile'),
+    ('users:roles', 'Change the roles of a user'),
+    ('users:disable', 'Disable and enable user accounts'),
+    ('users:delete', 'Delete user accounts');
+
+-- Grant permissions to the default roles; user management stays ROLE_ADMIN only
+INSERT INTO role_permissions (role_id, permission_id)
+SELECT r.id, p.id FROM roles r, permissions p
+WHERE r.name = 'ROLE_ADMIN'
+  AND p.name IN ('users:read', 'users:lock', 'users:update', 'users:roles', 'users:disable', 'users:delete');
+
+-- ROLE_ADMIN > ROLE_MODERATOR > ROLE_USER
+INSERT INTO role_hierarchy (parent_role_id, child_role_id)
+SELECT parent.id, child.id FROM roles parent, roles child
+WHERE (parent.name = 'ROLE_ADMIN' AND child.name = 'ROLE_MODERATOR')
+   OR (parent.name = 'ROLE_MODERATOR' AND child.name = 'ROLE_USER');
+
+CREATE INDEX idx_role_permissions_permission_id ON role_permissions(permission_id);
+CREATE INDEX idx_role_hierarchy_child_role_id ON role_hierarchy(child_role_id);
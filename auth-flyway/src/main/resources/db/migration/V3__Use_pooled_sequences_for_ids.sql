@@ -0,0 +1,39 @@
+-- Switch generated primary keys from IDENTITY columns to sequences, so Hibernate knows ids before inserting
+-- and can send inserts in JDBC batches. The application draws a block of 50 ids per nextval (pooled-lo
+-- optimizer, hibernate.id.optimizer.pooled.preferred), so plain SQL inserts that take the column default
+-- only ever use the first id of their own block and cannot collide with ids handed out by the application.
+
+-- users
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER SEQUENCE users_seq OWNED BY users.id;
+
+-- roles
+CREATE SEQUENCE roles_seq INCREMENT BY 50;
+SELECT setval('roles_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM roles), false);
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE roles ALTER COLUMN id SET DEFAULT nextval('roles_seq');
+ALTER SEQUENCE roles_seq OWNED BY roles.id;
+
+-- permissions
+CREATE SEQUENCE permissions_seq INCREMENT BY 50;
+SELECT setval('permissions_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM permissions), false);
+ALTER TABLE permissions ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE permissions ALTER COLUMN id SET DEFAULT nextval('permissions_seq');
+ALTER SEQUENCE permissions_seq OWNED BY permissions.id;
+
+-- refresh_tokens
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+SELECT setval('refresh_tokens_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM refresh_tokens), false);
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE refresh_tokens ALTER COLUMN id SET DEFAULT nextval('refresh_tokens_seq');
+ALTER SEQUENCE refresh_tokens_seq OWNED BY refresh_tokens.id;
+
+-- audit_logs
+CREATE SEQUENCE audit_logs_seq INCREMENT BY 50;
+SELECT setval('audit_logs_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs), false);
+ALTER TABLE audit_logs ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE audit_logs ALTER COLUMN id SET DEFAULT nextval('audit_logs_seq');
+ALTER SEQUENCE audit_logs_seq OWNED BY audit_logs.id;
@@ -0,0 +1,22 @@
+#!/bin/bash
+
+# Build the breached password index used at registration
+# Usage: ./scripts/build-breach-index.sh <sha1-dump.txt> [index-file]   (default: breached-passwords.idx)
+# The dump holds one SHA-1 hash per line, optionally followed by ":count"
+# (e.g. the Have I Been Pwned SHA-1 download). Unsorted dumps must go through "sort -u" first.
+# Point app.password.breach.index-path at the generated file
+
+INPUT=$1
+OUTPUT=${2:-breached-passwords.idx}
+
+if [ -z "$INPUT" ]; then
+    echo "Usage: $0 <sha1-dump.txt> [index-file]"
+    exit 1
+fi
+
+# The builder only needs the JDK, so the compiled classes are enough
+if [ ! -d target/classes ]; then
+    mvn -q compile || exit 1
+fi
+
+java -cp target/classes com.auth.service.security.breach.BreachedPasswordIndexBuilder "$INPUT" "$OUTPUT"
@@ -1,24 +1,41 @@
 #!/bin/bash
 
-# Generate RSA key pair for JWT signing
-# This script generates a 2048-bit RSA key pair
+# Generate a key pair for JWT signing
+# Usage: ./scripts/generate-keys.sh [RS256|ES256|EdDSA]   (default: RS256)
+# The algorithm must match app.jwt.algorithm
 
-echo "Generating RSA key pair for JWT signing..."
+ALGORITHM=${1:-RS256}
+
+echo "Generating $ALGORITHM key pair for JWT signing..."
 
 # Create keys directory if it doesn't exist
 mkdir -p src/main/resources/keys
 
-# Generate private key
-openssl genpkey -algorithm RSA -out src/main/resources/keys/private.pem -pkeyopt rsa_keygen_bits:2048
+# Generate private key (PKCS#8 PEM)
+case "$ALGORITHM" in
+    RS256)
+        openssl genpkey -algorithm RSA -out src/main/resources/keys/private.pem -pkeyopt rsa_keygen_bits:2048
+        ;;
+    ES256)
+        openssl genpkey -algorithm EC -out src/main/resources/keys/private.pem -pkeyopt ec_paramgen_curve:P-256
+        ;;
+    EdDSA|Ed25519)
+        openssl genpkey -algorithm ed25519 -out src/main/resources/keys/private.pem
+        ;;
+    *)
+        echo "Unsupported algorithm: $ALGORITHM (expected RS256, ES256 or EdDSA)"
+        exit 1
+        ;;
+esac
 
 # Generate public key from private key
-openssl rsa -pubout -in src/main/resources/keys/private.pem -out src/main/resources/keys/public.pem
+openssl pkey -pubout -in src/main/resources/keys/private.pem -out src/main/resources/keys/public.pem
 
 # Set proper permissions
 chmod 600 src/main/resources/keys/private.pem
 chmod 644 src/main/resources/keys/public.pem
 
-echo "RSA key pair generated successfully!"
+echo "$ALGORITHM key pair generated successfully!"
 echo "Private key: src/main/resources/keys/private.pem"
 echo "Public key: src/main/resources/keys/public.pem"
 echo ""
@@ -0,0 +1,54 @@
+package com.auth.config;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * {@code /actuator/l2cache}: hits, misses and puts of every Hibernate second-level cache region, to measure
+ * how many database round trips the cache saves. Counts are only collected while
+ * {@code hibernate.generate_statistics} is on.
+ */
+@Component
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, Map.of(
+                        "hits", region.getHitCount(),
+                        "misses", region.getMissCount(),
+                        "puts", region.getPutCount()));
+            }
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("naturalIdCacheHits", statistics.getNaturalIdCacheHitCount());
+        result.put("naturalIdCacheMisses", statistics.getNaturalIdCacheMissCount());
+        result.put("regions", regions);
+        return result;
+    }
+}
@@ -12,12 +12,19 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.auth.security.JwtAuthenticationFilter;
+import com.auth.security.ratelimit.RateLimitFilter;
+import com.auth.security.ratelimit.RateLimitService;
 import com.auth.service.UserService;
+import com.auth.service.security.JwtService;
 
 @Configuration
 @EnableWebSecurity
@@ -27,8 +34,16 @@ public class SecurityConfig {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RateLimitService rateLimitService;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        AuthenticationEntryPoint entryPoint = new BearerTokenAuthenticationEntryPoint();
+
         http
             .cors().and()
             .csrf().disable()
@@ -36,12 +51,18 @@ public class SecurityConfig {
             .and()
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/api/users/register", "/api/users/verify-email").permitAll()
+                .requestMatchers("/api/auth/login", "/api/auth/refresh").permitAll()
                 .requestMatchers("/oauth2/**").permitAll()
                 .requestMatchers("/.well-known/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
                 .anyRequest().authenticated()
             )
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(entryPoint))
+            // Bearer tokens are authenticated from their claims alone, without loading the user
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, entryPoint), UsernamePasswordAuthenticationFilter.class)
+            // Runs after bearer authentication so MFA routes can be limited per user as well as per address
+            .addFilterAfter(new RateLimitFilter(rateLimitService), JwtAuthenticationFilter.class)
             .userDetailsService(userService);
 
         return http.build();
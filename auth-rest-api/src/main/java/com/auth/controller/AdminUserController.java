@@ -0,0 +1,129 @@
+package com.auth.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import com.auth.dto.BulkOperationResponse;
+import com.auth.dto.BulkUserRequest;
+import com.auth.dto.UserPage;
+import com.auth.repository.UserFilter;
+import com.auth.security.AuthenticatedUser;
+import com.auth.security.CurrentUser;
+import com.auth.service.AdminUserService;
+import com.auth.service.UserExportFormat;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@Tag(name = "User Administration", description = "APIs for locking, disabling and deleting many users at once")
+public class AdminUserController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Value("${app.admin.export.timeout-millis:1800000}")
+    private long exportTimeoutMillis = 1_800_000;
+
+    @GetMapping
+    @Operation(summary = "List users", description = "Lists users matching the filter in id order, one page at a time (requires users:read)")
+    @PreAuthorize("@authz.can('users:read')")
+    public ResponseEntity<UserPage> listUsers(@ModelAttribute UserFilter filter,
+            @Parameter(description = "nextAfterId of the previous page; omit for the first page") @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Page size, at most 1000") @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(adminUserService.listUsers(filter, afterId, pageSize));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export users", description = "Streams every user matching the filter as NDJSON or CSV (requires users:read)")
+    @PreAuthorize("@authz.can('users:read')")
+    public WebAsyncTask<Void> exportUsers(@ModelAttribute UserFilter filter,
+            @Parameter(description = "NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") UserExportFormat format,
+            HttpServletResponse response) {
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"");
+        // Streams on an async thread with its own timeout, so only the export may run this long
+        return new WebAsyncTask<>(exportTimeoutMillis, () -> {
+            adminUserService.exportUsers(filter, format, response.getOutputStream());
+            return null;
+        });
+    }
+
+    @PostMapping("/lock")
+    @Operation(summary = "Lock users", description = "Locks the users selected by ID or filter (requires users:lock)")
+    @PreAuthorize("@authz.can('users:lock')")
+    public ResponseEntity<?> lockUsers(@Valid @RequestBody BulkUserRequest request,
+                                       @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(new BulkOperationResponse("lock", adminUserService.lockUsers(request, currentUser.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/unlock")
+    @Operation(summary = "Unlock users", description = "Unlocks the users selected by ID or filter (requires users:lock)")
+    @PreAuthorize("@authz.can('users:lock')")
+    public ResponseEntity<?> unlockUsers(@Valid @RequestBody BulkUserRequest request,
+                                         @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(new BulkOperationResponse("unlock", adminUserService.unlockUsers(request, currentUser.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/disable")
+    @Operation(summary = "Disable users", description = "Disables the users selected by ID or filter (requires users:disable)")
+    @PreAuthorize("@authz.can('users:disable')")
+    public ResponseEntity<?> disableUsers(@Valid @RequestBody BulkUserRequest request,
+                                          @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(new BulkOperationResponse("disable", adminUserService.disableUsers(request, currentUser.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/enable")
+    @Operation(summary = "Enable users", description = "Enables the users selected by ID or filter (requires users:disable)")
+    @PreAuthorize("@authz.can('users:disable')")
+    public ResponseEntity<?> enableUsers(@Valid @RequestBody BulkUserRequest request,
+                                         @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(new BulkOperationResponse("enable", adminUserService.enableUsers(request, currentUser.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/delete")
+    @Operation(summary = "Delete users", description = "Deletes the users selected by ID or filter (requires users:delete)")
+    @PreAuthorize("@authz.can('users:delete')")
+    public ResponseEntity<?> deleteUsers(@Valid @RequestBody BulkUserRequest request,
+                                         @CurrentUser AuthenticatedUser currentUser) {
+        try {
+            return ResponseEntity.ok(new BulkOperationResponse("delete", adminUserService.deleteUsers(request, currentUser.getId())));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,17 +1,26 @@
 package com.auth.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.auth.dto.LoginRequest;
+import com.auth.dto.TokenResponse;
+import com.auth.security.AuthenticatedUser;
+import com.auth.security.CurrentUser;
+import com.auth.service.LoginService;
+import com.auth.service.RefreshCoalescer;
 import com.auth.service.RefreshTokenService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -21,32 +30,47 @@ public class AuthController {
     @Autowired
     private RefreshTokenService refreshTokenService;
 
+    @Autowired
+    private RefreshCoalescer refreshCoalescer;
+
+    @Autowired
+    private LoginService loginService;
+
+    @PostMapping("/login")
+    @Operation(summary = "Login", description = "Authenticates with username and password and issues access and refresh tokens")
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+        try {
+            TokenResponse tokens = loginService.login(request);
+            return ResponseEntity.ok(tokens);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/logout")
     @Operation(summary = "Logout user", description = "Logs out the current user and revokes all tokens")
-    public ResponseEntity<String> logout(Authentication authentication) {
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            refreshTokenService.revokeAllTokensForUser(username);
+    public ResponseEntity<String> logout(@CurrentUser(required = false) AuthenticatedUser currentUser) {
+        if (currentUser != null) {
+            refreshTokenService.revokeAllTokensForUser(currentUser.getUsername());
         }
         return ResponseEntity.ok("Logged out successfully");
     }
 
     @PostMapping("/logout/all")
     @Operation(summary = "Logout from all devices", description = "Logs out the current user from all devices")
-    public ResponseEntity<String> logoutFromAllDevices(Authentication authentication) {
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            refreshTokenService.revokeAllTokensForUser(username);
+    public ResponseEntity<String> logoutFromAllDevices(@CurrentUser(required = false) AuthenticatedUser currentUser) {
+        if (currentUser != null) {
+            refreshTokenService.revokeAllTokensForUser(currentUser.getUsername());
         }
         return ResponseEntity.ok("Logged out from all devices successfully");
     }
 
     @PostMapping("/refresh")
-    @Operation(summary = "Refresh access token", description = "Refreshes the access token using a valid refresh token")
-    public ResponseEntity<String> refreshToken(@RequestParam String refreshToken) {
+    @Operation(summary = "Refresh tokens", description = "Exchanges a valid refresh token for a new access token and a new refresh token; the presented one is revoked")
+    public ResponseEntity<?> refreshToken(@RequestParam String refreshToken) {
         try {
-            String newAccessToken = refreshTokenService.refreshAccessToken(refreshToken);
-            return ResponseEntity.ok(newAccessToken);
+            TokenResponse tokens = refreshCoalescer.refresh(refreshToken);
+            return ResponseEntity.ok(tokens);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Invalid refresh token");
         }
@@ -0,0 +1,113 @@
+package com.auth.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.auth.service.security.JwtKeyRegistry;
+import com.auth.service.security.JwtKeysRotatedEvent;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Publishes the public half of every key in the {@link JwtKeyRegistry} as a JWK set.
+ * The document is serialized once per key set, so serving it is a header check and a byte copy.
+ */
+@RestController
+@Tag(name = "Keys", description = "Public keys for verifying issued tokens")
+public class JwksController {
+
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
+
+    @Autowired
+    private JwtKeyRegistry keyRegistry;
+
+    @Value("${app.jwt.jwks.max-age:300}")
+    private long maxAgeSeconds;
+
+    private volatile JwksDocument document;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    @EventListener
+    public void onKeysRotated(JwtKeysRotatedEvent event) {
+        refresh();
+    }
+
+    @GetMapping(JWKS_PATH)
+    @Operation(summary = "JSON Web Key Set", description = "Returns the public keys used to sign access tokens")
+    public ResponseEntity<byte[]> getJwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JwksDocument current = document;
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        if (current.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(current.etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(current.etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(current.body.length)
+                .body(current.body);
+    }
+
+    private void refresh() {
+        byte[] body = keyRegistry.getJwkSet().toPublicJWKSet().toString().getBytes(StandardCharsets.UTF_8);
+        document = new JwksDocument(body, etagFor(body));
+    }
+
+    private static String etagFor(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class JwksDocument {
+
+        private final byte[] body;
+        private final String etag;
+
+        private JwksDocument(byte[] body, String etag) {
+            this.body = body;
+            this.etag = etag;
+        }
+
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.auth.dto.MfaSetupResponse;
 import com.auth.dto.MfaVerificationRequest;
+import com.auth.security.CurrentUser;
 import com.auth.service.MfaService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -30,10 +30,7 @@ public class MfaController {
     @PostMapping("/setup")
     @Operation(summary = "Setup MFA", description = "Sets up multi-factor authentication for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<MfaSetupResponse> setupMfa(Authentication authentication) {
-        // In a real implementation, you'd get the user ID from the authentication
-        // For now, we'll use a placeholder - this should be implemented properly
-        Long userId = 1L; // This should come from the authenticated user
+    public ResponseEntity<MfaSetupResponse> setupMfa(@CurrentUser Long userId) {
         MfaSetupResponse response = mfaService.setupMfa(userId);
         return ResponseEntity.ok(response);
     }
@@ -43,9 +40,7 @@ public class MfaController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<String> verifyMfaCode(
             @Valid @RequestBody MfaVerificationRequest request,
-            Authentication authentication) {
-        // In a real implementation, you'd get the user ID from the authentication
-        Long userId = 1L; // This should come from the authenticated user
+            @CurrentUser Long userId) {
         boolean verified = mfaService.verifyMfaCode(userId, request.getCode());
         if (verified) {
             return ResponseEntity.ok("MFA verification successful");
@@ -57,9 +52,7 @@ public class MfaController {
     @PostMapping("/disable")
     @Operation(summary = "Disable MFA", description = "Disables multi-factor authentication for the current user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<String> disableMfa(Authentication authentication) {
-        // In a real implementation, you'd get the user ID from the authentication
-        Long userId = 1L; // This should come from the authenticated user
+    public ResponseEntity<String> disableMfa(@CurrentUser Long userId) {
         mfaService.disableMfa(userId);
         return ResponseEntity.ok("MFA disabled successfully");
     }
@@ -67,9 +60,7 @@ public class MfaController {
     @PostMapping("/regenerate-backup-codes")
     @Operation(summary = "Regenerate backup codes", description = "Generates new backup codes for MFA")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Set<String>> regenerateBackupCodes(Authentication authentication) {
-        // In a real implementation, you'd get the user ID from the authentication
-        Long userId = 1L; // This should come from the authenticated user
+    public ResponseEntity<Set<String>> regenerateBackupCodes(@CurrentUser Long userId) {
         Set<String> backupCodes = mfaService.regenerateBackupCodes(userId);
         return ResponseEntity.ok(backupCodes);
     }
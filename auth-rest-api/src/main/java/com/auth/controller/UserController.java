@@ -6,7 +6,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,6 +18,8 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.auth.dto.UserRegistrationRequest;
 import com.auth.dto.UserResponse;
+import com.auth.security.AuthenticatedUser;
+import com.auth.security.CurrentUser;
 import com.auth.service.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -56,15 +57,16 @@ public class UserController {
     @GetMapping("/me")
     @Operation(summary = "Get current user profile", description = "Returns the authenticated user's profile information")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
-        String username = authentication.getName();
-        UserResponse user = userService.getUserByUsername(username);
+    public ResponseEntity<UserResponse> getCurrentUser(@CurrentUser AuthenticatedUser currentUser) {
+        UserResponse user = currentUser.getId() != null
+                ? userService.getUserById(currentUser.getId())
+                : userService.getUserByUsername(currentUser.getUsername());
         return ResponseEntity.ok(user);
     }
 
     @GetMapping("/{userId}")
-    @Operation(summary = "Get user by ID", description = "Returns user profile by user ID (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get user by ID", description = "Returns user profile by user ID (requires users:read)")
+    @PreAuthorize("@authz.can('users:read')")
     public ResponseEntity<UserResponse> getUserById(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         UserResponse user = userService.getUserById(userId);
@@ -73,7 +75,7 @@ public class UserController {
 
     @PutMapping("/{userId}/profile")
     @Operation(summary = "Update user profile", description = "Updates user's first and last name")
-    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @PreAuthorize("@authz.can('users:update') or #userId == authentication.principal.id")
     public ResponseEntity<UserResponse> updateUserProfile(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "First name") @RequestParam String firstName,
@@ -84,7 +86,7 @@ public class UserController {
 
     @PutMapping("/{userId}/roles")
     @Operation(summary = "Update user roles", description = "Assigns new roles to a user (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@authz.can('users:roles')")
     public ResponseEntity<String> updateUserRoles(
             @Parameter(description = "User ID") @PathVariable Long userId,
             @Parameter(description = "Set of role names") @RequestBody Set<String> roleNames) {
@@ -94,7 +96,7 @@ public class UserController {
 
     @DeleteMapping("/{userId}")
     @Operation(summary = "Delete user", description = "Deletes a user account (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@authz.can('users:delete')")
     public ResponseEntity<String> deleteUser(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         userService.deleteUser(userId);
@@ -102,8 +104,8 @@ public class UserController {
     }
 
     @PostMapping("/{userId}/lock")
-    @Operation(summary = "Lock user account", description = "Locks a user account (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Lock user account", description = "Locks a user account (requires users:lock)")
+    @PreAuthorize("@authz.can('users:lock')")
     public ResponseEntity<String> lockUser(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         userService.lockUser(userId);
@@ -111,8 +113,8 @@ public class UserController {
     }
 
     @PostMapping("/{userId}/unlock")
-    @Operation(summary = "Unlock user account", description = "Unlocks a user account (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Unlock user account", description = "Unlocks a user account (requires users:lock)")
+    @PreAuthorize("@authz.can('users:lock')")
     public ResponseEntity<String> unlockUser(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         userService.unlockUser(userId);
@@ -121,7 +123,7 @@ public class UserController {
 
     @PostMapping("/{userId}/disable")
     @Operation(summary = "Disable user account", description = "Disables a user account (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@authz.can('users:disable')")
     public ResponseEntity<String> disableUser(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         userService.disableUser(userId);
@@ -130,7 +132,7 @@ public class UserController {
 
     @PostMapping("/{userId}/enable")
     @Operation(summary = "Enable user account", description = "Enables a user account (admin only)")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("@authz.can('users:disable')")
     public ResponseEntity<String> enableUser(
             @Parameter(description = "User ID") @PathVariable Long userId) {
         userService.enableUser(userId);
@@ -0,0 +1,32 @@
+package com.auth.dto;
+
+public class BulkOperationResponse {
+
+    private String operation;
+    private int affected;
+
+    // Constructors
+    public BulkOperationResponse() {}
+
+    public BulkOperationResponse(String operation, int affected) {
+        this.operation = operation;
+        this.affected = affected;
+    }
+
+    // Getters and Setters
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
@@ -0,0 +1,46 @@
+package com.auth.dto;
+
+import java.util.Set;
+
+import com.auth.repository.UserFilter;
+
+import jakarta.validation.constraints.Size;
+
+/**
+ * Selects the users of a bulk admin operation, either by id or by filter.
+ */
+public class BulkUserRequest {
+
+    @Size(max = 10000, message = "At most 10000 user IDs per request; use a filter for more")
+    private Set<Long> userIds;
+
+    private UserFilter filter;
+
+    // Constructors
+    public BulkUserRequest() {}
+
+    public BulkUserRequest(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public BulkUserRequest(UserFilter filter) {
+        this.filter = filter;
+    }
+
+    // Getters and Setters
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(Set<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public UserFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(UserFilter filter) {
+        this.filter = filter;
+    }
+}
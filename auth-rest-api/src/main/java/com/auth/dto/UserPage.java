@@ -0,0 +1,38 @@
+package com.auth.dto;
+
+import java.util.List;
+
+/**
+ * A page of the admin user listing. Pass {@code nextAfterId} as {@code afterId} to get the next page;
+ * it is {@code null} on the last page.
+ */
+public class UserPage {
+
+    private List<UserSummary> users;
+    private Long nextAfterId;
+
+    // Constructors
+    public UserPage() {}
+
+    public UserPage(List<UserSummary> users, Long nextAfterId) {
+        this.users = users;
+        this.nextAfterId = nextAfterId;
+    }
+
+    // Getters and Setters
+    public List<UserSummary> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserSummary> users) {
+        this.users = users;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.auth.dto;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -39,6 +40,27 @@ public class UserResponse {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Projection constructor for queries that aggregate the role names into one comma separated string.
+     */
+    public UserResponse(Long id, String username, String email, String firstName, String lastName,
+                        Boolean emailVerified, Boolean mfaEnabled, Boolean enabled, LocalDateTime createdAt,
+                        LocalDateTime lastLoginAt, String roleNames) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.emailVerified = emailVerified;
+        this.mfaEnabled = mfaEnabled;
+        this.enabled = enabled;
+        this.createdAt = createdAt;
+        this.lastLoginAt = lastLoginAt;
+        this.roles = roleNames == null || roleNames.isEmpty()
+                ? Set.of()
+                : Arrays.stream(roleNames.split(",")).collect(Collectors.toSet());
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,115 @@
+package com.auth.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One row of the admin user listing and export, read as a projection rather than an entity.
+ */
+public class UserSummary {
+
+    /**
+     * Separator of the aggregated role names handed to the constructor.
+     */
+    public static final String ROLE_SEPARATOR = ",";
+
+    private Long id;
+    private String username;
+    private String email;
+    private Boolean enabled;
+    private Boolean accountNonLocked;
+    private Boolean emailVerified;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastLoginAt;
+    private List<String> roles;
+
+    // Constructors
+    public UserSummary() {}
+
+    public UserSummary(Long id, String username, String email, Boolean enabled, Boolean accountNonLocked,
+                       Boolean emailVerified, LocalDateTime createdAt, LocalDateTime lastLoginAt, String roleNames) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.enabled = enabled;
+        this.accountNonLocked = accountNonLocked;
+        this.emailVerified = emailVerified;
+        this.createdAt = createdAt;
+        this.lastLoginAt = lastLoginAt;
+        this.roles = roleNames == null || roleNames.isEmpty() ? List.of() : Arrays.asList(roleNames.split(ROLE_SEPARATOR));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Boolean getAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    public void setAccountNonLocked(Boolean accountNonLocked) {
+        this.accountNonLocked = accountNonLocked;
+    }
+
+    public Boolean getEmailVerified() {
+        return emailVerified;
+    }
+
+    public void setEmailVerified(Boolean emailVerified) {
+        this.emailVerified = emailVerified;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    public void setLastLoginAt(LocalDateTime lastLoginAt) {
+        this.lastLoginAt = lastLoginAt;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+}
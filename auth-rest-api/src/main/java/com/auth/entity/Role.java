@@ -3,6 +3,8 @@ package com.auth.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,10 +16,13 @@ import java.util.Set;
 @Entity
 @Table(name = "roles")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "roles")
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -38,6 +43,23 @@ public class Role {
     @ManyToMany(mappedBy = "roles")
     private Set<User> users = new HashSet<>();
 
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "role_permissions",
+        joinColumns = @JoinColumn(name = "role_id"),
+        inverseJoinColumns = @JoinColumn(name = "permission_id")
+    )
+    private Set<Permission> permissions = new HashSet<>();
+
+    // Roles whose permissions this role inherits, e.g. ROLE_ADMIN includes ROLE_MODERATOR
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "role_hierarchy",
+        joinColumns = @JoinColumn(name = "parent_role_id"),
+        inverseJoinColumns = @JoinColumn(name = "child_role_id")
+    )
+    private Set<Role> includedRoles = new HashSet<>();
+
     // Constructors
     public Role() {}
 
@@ -99,6 +121,22 @@ public class Role {
         this.users = users;
     }
 
+    public Set<Permission> getPermissions() {
+        return permissions;
+    }
+
+    public void setPermissions(Set<Permission> permissions) {
+        this.permissions = permissions;
+    }
+
+    public Set<Role> getIncludedRoles() {
+        return includedRoles;
+    }
+
+    public void setIncludedRoles(Set<Role> includedRoles) {
+        this.includedRoles = includedRoles;
+    }
+
     // Helper methods
     public void addUser(User user) {
         this.users.add(user);
@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +17,38 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
     Optional<RefreshToken> findByTokenValue(String tokenValue);
+
+    /**
+     * Loads the token together with its user and the user's roles in one statement, for rotation.
+     */
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user u LEFT JOIN FETCH u.roles WHERE rt.tokenValue = :tokenValue")
+    Optional<RefreshToken> findByTokenValueWithUser(@Param("tokenValue") String tokenValue);
+
+    /**
+     * Revokes the token and links its successor, provided it is still unrevoked and unexpired. The row lock taken
+     * by the update serializes concurrent rotations of the same token: the loser re-reads the row and matches nothing.
+     *
+     * @return 1 if this call revoked the token, 0 if it was already revoked or expired
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now, rt.replacedByToken = :successor "
+            + "WHERE rt.id = :id AND rt.revokedAt IS NULL AND rt.expiresAt > :now")
+    int revokeAndReplace(@Param("id") Long id, @Param("successor") RefreshToken successor, @Param("now") LocalDateTime now);
     
+    /**
+     * Revokes every unrevoked token of the user in one statement, e.g. when the account may no longer refresh.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.user = :user AND rt.revokedAt IS NULL")
+    int revokeAllByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+
+    /**
+     * Revokes every unrevoked token of the given users in one statement, e.g. when an administrator locks them.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revokedAt = :now WHERE rt.user.id IN :userIds AND rt.revokedAt IS NULL")
+    int revokeAllByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
     List<RefreshToken> findByUser(User user);
     
     List<RefreshToken> findByUserAndClientId(User user, String clientId);
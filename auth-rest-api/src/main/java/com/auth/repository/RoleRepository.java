@@ -1,15 +1,33 @@
 package com.auth.repository;
 
 import com.auth.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
     
     boolean existsByName(String name);
+
+    /**
+     * Loads every role with its direct permissions; used to compile the authorization model.
+     */
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.permissions")
+    List<Role> findAllWithPermissions();
+
+    /**
+     * Loads every role with the roles it includes; used to compile the authorization model.
+     */
+    @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.includedRoles")
+    List<Role> findAllWithIncludedRoles();
 }
@@ -0,0 +1,86 @@
+package com.auth.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+/**
+ * Criteria selecting users for set-based admin operations. Unset criteria are ignored; set ones are combined with AND.
+ */
+public class UserFilter {
+
+    private String role;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime lastLoginBefore;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdBefore;
+    private Boolean emailVerified;
+    // Enabled, not locked and neither account nor credentials expired
+    private Boolean active;
+    // Unverified email whose verification token has expired
+    private Boolean verificationExpired;
+
+    // Constructors
+    public UserFilter() {}
+
+    public UserFilter(String role, LocalDateTime lastLoginBefore, LocalDateTime createdBefore, Boolean emailVerified) {
+        this.role = role;
+        this.lastLoginBefore = lastLoginBefore;
+        this.createdBefore = createdBefore;
+        this.emailVerified = emailVerified;
+    }
+
+    public boolean isEmpty() {
+        return role == null && lastLoginBefore == null && createdBefore == null && emailVerified == null
+                && active == null && verificationExpired == null;
+    }
+
+    // Getters and Setters
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public LocalDateTime getLastLoginBefore() {
+        return lastLoginBefore;
+    }
+
+    public void setLastLoginBefore(LocalDateTime lastLoginBefore) {
+        this.lastLoginBefore = lastLoginBefore;
+    }
+
+    public LocalDateTime getCreatedBefore() {
+        return createdBefore;
+    }
+
+    public void setCreatedBefore(LocalDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+    }
+
+    public Boolean getEmailVerified() {
+        return emailVerified;
+    }
+
+    public void setEmailVerified(Boolean emailVerified) {
+        this.emailVerified = emailVerified;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public Boolean getVerificationExpired() {
+        return verificationExpired;
+    }
+
+    public void setVerificationExpired(Boolean verificationExpired) {
+        this.verificationExpired = verificationExpired;
+    }
+}
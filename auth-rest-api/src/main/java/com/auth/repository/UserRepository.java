@@ -1,37 +1,81 @@
 package com.auth.repository;
 
+import com.auth.dto.UserResponse;
 import com.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
-    Optional<User> findByUsername(String username);
+    String RESPONSE_SELECT = "SELECT new com.auth.dto.UserResponse(u.id, u.username, u.email, u.firstName, u.lastName, "
+            + "u.emailVerified, u.mfaEnabled, u.enabled, u.createdAt, u.lastLoginAt, "
+            + "listagg(r.name, ',') WITHIN GROUP (ORDER BY r.name)) "
+            + "FROM User u LEFT JOIN u.roles r ";
+
+    String RESPONSE_GROUP_BY = "GROUP BY u.id, u.username, u.email, u.firstName, u.lastName, u.emailVerified, "
+            + "u.mfaEnabled, u.enabled, u.createdAt, u.lastLoginAt";
+
+    /**
+     * Loads the user and its roles in a single statement, for the login path.
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    Optional<User> findByUsernameWithRoles(@Param("username") String username);
     
+    /**
+     * Reads exactly the {@link UserResponse} columns and the role names in one statement, without loading the
+     * entity or its collections.
+     */
+    @Query(RESPONSE_SELECT + "WHERE u.id = :id " + RESPONSE_GROUP_BY)
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE_SELECT + "WHERE u.username = :username " + RESPONSE_GROUP_BY)
+    Optional<UserResponse> findResponseByUsername(@Param("username") String username);
+
+    // Email is not the natural id, so its lookups go through the query cache instead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     Optional<User> findByEmailVerificationToken(String token);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByUsername(String username);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
     
-    @Query("SELECT u FROM User u WHERE u.emailVerified = false AND u.emailVerificationExpiresAt < :now")
-    List<User> findUnverifiedExpiredUsers(@Param("now") LocalDateTime now);
-    
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
-    List<User> findByRoleName(@Param("roleName") String roleName);
-    
-    @Query("SELECT u FROM User u WHERE u.enabled = true AND u.accountNonLocked = true AND u.accountNonExpired = true AND u.credentialsNonExpired = true")
-    List<User> findActiveUsers();
-    
-    @Query("SELECT u FROM User u WHERE u.lastLoginAt < :cutoffDate")
-    List<User> findInactiveUsers(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash WHERE u.id = :userId")
+    int updatePasswordHash(@Param("userId") Long userId, @Param("passwordHash") String passwordHash);
+
+    /**
+     * Sets the lock flag of several users in one statement, without loading them.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.accountNonLocked = :accountNonLocked, u.updatedAt = :updatedAt WHERE u.id IN :userIds")
+    int updateAccountNonLocked(@Param("userIds") Collection<Long> userIds, @Param("accountNonLocked") boolean accountNonLocked,
+                               @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled, u.updatedAt = :updatedAt WHERE u.id IN :userIds")
+    int updateEnabled(@Param("userIds") Collection<Long> userIds, @Param("enabled") boolean enabled,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Deletes several users in one statement. Their roles and backup codes go with them; refresh tokens are
+     * removed by the database cascade.
+     */
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :userIds")
+    int deleteAllByIdIn(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,58 @@
+package com.auth.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.auth.dto.UserSummary;
+import com.auth.entity.User;
+
+/**
+ * Reads, updates and deletes of the users matching a {@link UserFilter}, each run as one statement.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Loads the user by its natural id, so a second-level cache hit needs no statement at all.
+     */
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Returns up to {@code limit} users with an id greater than {@code afterId}, in id order. Seeking on the
+     * primary key keeps every page as cheap as the first, unlike an offset.
+     *
+     * @param filter  criteria, may be empty to list every user
+     * @param afterId id of the last user of the previous page, or {@code null} for the first page
+     */
+    List<UserSummary> findSummaries(UserFilter filter, Long afterId, int limit);
+
+    /**
+     * Streams every matching user in id order from a forward-only cursor reading {@code fetchSize} rows at a
+     * time. Must be consumed and closed within a transaction; rows are projections, so nothing accumulates in
+     * the persistence context.
+     */
+    Stream<UserSummary> streamSummaries(UserFilter filter, int fetchSize);
+
+    /**
+     * Ids of the matching users, in id order.
+     */
+    List<Long> findIds(UserFilter filter, Long excludedUserId);
+
+    /**
+     * @param excludedUserId user left untouched even if it matches, e.g. the administrator running the operation
+     * @return the number of users updated
+     */
+    int updateAccountNonLocked(UserFilter filter, Long excludedUserId, boolean accountNonLocked, LocalDateTime updatedAt);
+
+    int updateEnabled(UserFilter filter, Long excludedUserId, boolean enabled, LocalDateTime updatedAt);
+
+    /**
+     * Revokes the valid refresh tokens of every matching user.
+     *
+     * @return the number of refresh tokens revoked
+     */
+    int revokeRefreshTokens(UserFilter filter, Long excludedUserId, LocalDateTime revokedAt);
+
+    int deleteMatching(UserFilter filter, Long excludedUserId);
+}
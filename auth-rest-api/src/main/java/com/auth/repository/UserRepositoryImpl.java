@@ -0,0 +1,185 @@
+package com.auth.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth.dto.UserSummary;
+import com.auth.entity.RefreshToken;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+
+    @Override
+    public List<UserSummary> findSummaries(UserFilter filter, Long afterId, int limit) {
+        return summaryQuery(filter, afterId).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<UserSummary> streamSummaries(UserFilter filter, int fetchSize) {
+        return summaryQuery(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Long> findIds(UserFilter filter, Long excludedUserId) {
+        requireCriteria(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+        query.select(user.get("id"))
+                .where(predicates(cb, query, user, filter, excludedUserId))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int updateAccountNonLocked(UserFilter filter, Long excludedUserId, boolean accountNonLocked,
+                                      LocalDateTime updatedAt) {
+        return update(filter, excludedUserId, "accountNonLocked", accountNonLocked, updatedAt);
+    }
+
+    @Override
+    public int updateEnabled(UserFilter filter, Long excludedUserId, boolean enabled, LocalDateTime updatedAt) {
+        return update(filter, excludedUserId, "enabled", enabled, updatedAt);
+    }
+
+    @Override
+    public int revokeRefreshTokens(UserFilter filter, Long excludedUserId, LocalDateTime revokedAt) {
+        requireCriteria(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<RefreshToken> update = cb.createCriteriaUpdate(RefreshToken.class);
+        Root<RefreshToken> token = update.from(RefreshToken.class);
+        Subquery<Long> matching = update.subquery(Long.class);
+        Root<User> user = matching.from(User.class);
+        matching.select(user.get("id")).where(predicates(cb, matching, user, filter, excludedUserId));
+        update.set("revokedAt", revokedAt);
+        update.where(token.get("user").get("id").in(matching), cb.isNull(token.get("revokedAt")));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public int deleteMatching(UserFilter filter, Long excludedUserId) {
+        requireCriteria(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<User> delete = cb.createCriteriaDelete(User.class);
+        Root<User> user = delete.from(User.class);
+        delete.where(predicates(cb, delete, user, filter, excludedUserId));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private int update(UserFilter filter, Long excludedUserId, String attribute, boolean value, LocalDateTime updatedAt) {
+        requireCriteria(filter);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = cb.createCriteriaUpdate(User.class);
+        Root<User> user = update.from(User.class);
+        update.set(attribute, value);
+        update.set("updatedAt", updatedAt);
+        update.where(predicates(cb, update, user, filter, excludedUserId));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * Selects the summary columns and the role names aggregated into one string, one row per user.
+     */
+    private TypedQuery<UserSummary> summaryQuery(UserFilter filter, Long afterId) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<UserSummary> query = cb.createQuery(UserSummary.class);
+        Root<User> user = query.from(User.class);
+        Join<User, Role> role = user.join("roles", JoinType.LEFT);
+        List<Predicate> predicates = new ArrayList<>(List.of(predicates(cb, query, user, filter, null)));
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(user.get("id"), afterId));
+        }
+        query.select(cb.construct(UserSummary.class,
+                        user.get("id"), user.get("username"), user.get("email"), user.get("enabled"),
+                        user.get("accountNonLocked"), user.get("emailVerified"), user.get("createdAt"),
+                        user.get("lastLoginAt"),
+                        cb.listagg(cb.asc(role.get("name")), role.get("name"), UserSummary.ROLE_SEPARATOR)))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(user.get("id"), user.get("username"), user.get("email"), user.get("enabled"),
+                        user.get("accountNonLocked"), user.get("emailVerified"), user.get("createdAt"),
+                        user.get("lastLoginAt"))
+                .orderBy(cb.asc(user.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private void requireCriteria(UserFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            // A missing filter must never turn into "every user"
+            throw new IllegalArgumentException("Filter must set at least one criterion");
+        }
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, CommonAbstractCriteria query, Root<User> user, UserFilter filter,
+                                   Long excludedUserId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            filter = new UserFilter();
+        }
+        if (filter.getRole() != null) {
+            // Bulk statements cannot join, so the role goes through a subquery on the id
+            Subquery<Long> withRole = query.subquery(Long.class);
+            Root<User> member = withRole.from(User.class);
+            Join<User, Role> role = member.join("roles");
+            withRole.select(member.get("id")).where(cb.equal(role.get("name"), filter.getRole()));
+            predicates.add(user.get("id").in(withRole));
+        }
+        if (filter.getLastLoginBefore() != null) {
+            predicates.add(cb.lessThan(user.get("lastLoginAt"), filter.getLastLoginBefore()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add(cb.lessThan(user.get("createdAt"), filter.getCreatedBefore()));
+        }
+        if (filter.getEmailVerified() != null) {
+            predicates.add(cb.equal(user.get("emailVerified"), filter.getEmailVerified()));
+        }
+        if (filter.getActive() != null) {
+            Predicate active = cb.and(cb.isTrue(user.get("enabled")), cb.isTrue(user.get("accountNonLocked")),
+                    cb.isTrue(user.get("accountNonExpired")), cb.isTrue(user.get("credentialsNonExpired")));
+            predicates.add(filter.getActive() ? active : cb.not(active));
+        }
+        if (filter.getVerificationExpired() != null) {
+            Predicate expired = cb.and(cb.isFalse(user.get("emailVerified")),
+                    cb.lessThan(user.get("emailVerificationExpiresAt"), LocalDateTime.now()));
+            predicates.add(filter.getVerificationExpired() ? expired : cb.not(expired));
+        }
+        if (excludedUserId != null) {
+            predicates.add(cb.notEqual(user.get("id"), excludedUserId));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
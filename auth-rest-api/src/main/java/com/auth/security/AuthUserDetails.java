@@ -0,0 +1,53 @@
+package com.auth.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import com.auth.entity.Role;
+
+/**
+ * {@link org.springframework.security.core.userdetails.UserDetails} that also carries the user's
+ * database id, so it can be embedded in issued tokens.
+ *
+ * <p>Instances are immutable snapshots shared through {@link UserDetailsCache}; the password is
+ * the stored hash and is never erased.</p>
+ */
+public class AuthUserDetails extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    public AuthUserDetails(Long id, String username, String password, boolean enabled, boolean accountNonExpired,
+                           boolean credentialsNonExpired, boolean accountNonLocked,
+                           Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+        this.id = id;
+    }
+
+    public static AuthUserDetails from(com.auth.entity.User user) {
+        return new AuthUserDetails(
+                user.getId(),
+                user.getUsername(),
+                user.getPasswordHash(),
+                user.getEnabled(),
+                user.getAccountNonExpired(),
+                user.getCredentialsNonExpired(),
+                user.getAccountNonLocked(),
+                AuthorityUtils.createAuthorityList(user.getRoles().stream()
+                        .map(Role::getName)
+                        .toArray(String[]::new)));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        // Shared snapshot: erasing the hash here would break every other holder of this instance
+    }
+}
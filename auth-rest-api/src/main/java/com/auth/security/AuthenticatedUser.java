@@ -0,0 +1,57 @@
+package com.auth.security;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a request authenticated with a bearer token, built from the verified claims alone.
+ */
+public final class AuthenticatedUser implements AuthenticatedPrincipal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final List<String> roles;
+
+    public AuthenticatedUser(Long id, String username, List<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    /**
+     * Database id from the token's {@code uid} claim; {@code null} for tokens issued without it.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", roles=" + roles +
+                '}';
+    }
+}
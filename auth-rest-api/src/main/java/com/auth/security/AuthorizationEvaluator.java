@@ -0,0 +1,225 @@
+package com.auth.security;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.entity.Permission;
+import com.auth.entity.Role;
+import com.auth.repository.PermissionRepository;
+import com.auth.repository.RoleRepository;
+import com.auth.service.RolesChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Permission and role checks for {@code @PreAuthorize}, e.g.
+ * {@code @PreAuthorize("@authz.can('users:lock')")} or {@code @PreAuthorize("@authz.hasRole('MODERATOR')")}.
+ *
+ * <p>Checks run against the {@link PermissionModel} compiled from the {@code role_permissions} and
+ * {@code role_hierarchy} tables, so a role implies every role it includes. The effective permission
+ * and role bits of an {@link Authentication} are computed once and kept for as long as that
+ * authentication object is alive, so each check is a single bit test. The model is recompiled after
+ * every committed role or permission change ({@link RolesChangedEvent}); a model replaced by one
+ * with another version stays available to decode compact tokens for
+ * {@code app.jwt.access-token-validity}, the longest those tokens can still be in use.</p>
+ */
+@Component("authz")
+public class AuthorizationEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorizationEvaluator.class);
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.jwt.access-token-validity:3600}")
+    private long retiredModelRetentionSeconds = 3600;
+
+    private volatile PermissionModel model = PermissionModel.empty();
+
+    // Models replaced by one with another version, by version, with the time they were replaced
+    private volatile Map<String, RetiredModel> retiredModels = Map.of();
+
+    // Identity keyed and weak, so an entry lives as long as the request's Authentication object
+    private final Cache<Authentication, Grants> grants = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(10_000)
+            .build();
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /**
+     * Recompiles the model from the database, e.g. after roles or permissions were changed.
+     */
+    public synchronized void reload() {
+        // A new transaction, as this also runs from the commit of the transaction that changed the roles
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        PermissionModel previous = model;
+        model = transactionTemplate.execute(status -> {
+            Map<String, Set<String>> rolePermissions = new HashMap<>();
+            for (Role role : roleRepository.findAllWithPermissions()) {
+                rolePermissions.put(role.getName(), names(role.getPermissions(), Permission::getName));
+            }
+            Map<String, Set<String>> includedRoles = new HashMap<>();
+            for (Role role : roleRepository.findAllWithIncludedRoles()) {
+                includedRoles.put(role.getName(), names(role.getIncludedRoles(), Role::getName));
+            }
+            List<String> permissions = permissionRepository.findAll().stream().map(Permission::getName).toList();
+            return PermissionModel.compile(rolePermissions, includedRoles, permissions);
+        });
+        retire(previous);
+        grants.invalidateAll();
+        log.debug("Compiled authorization model {} with roles {} and permissions {}",
+                model.getVersion(), model.getRoleNames(), model.getPermissionNames());
+    }
+
+    @EventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        reload();
+    }
+
+    public PermissionModel getModel() {
+        return model;
+    }
+
+    /**
+     * The current model if it has the given version, else a recently replaced model with that
+     * version, else {@code null}.
+     */
+    public PermissionModel getModel(String version) {
+        PermissionModel current = model;
+        if (current.getVersion().equals(version)) {
+            return current;
+        }
+        RetiredModel retired = retiredModels.get(version);
+        return retired != null && !retired.isExpired(Instant.now()) ? retired.model : null;
+    }
+
+    /**
+     * Whether the current user holds the permission through any of its roles.
+     */
+    public boolean can(String permission) {
+        return hasPermission(SecurityContextHolder.getContext().getAuthentication(), permission);
+    }
+
+    /**
+     * Whether the current user has the role, directly or through a role that includes it.
+     * The {@code ROLE_} prefix is optional, as with Spring's {@code hasRole}.
+     */
+    public boolean hasRole(String role) {
+        return hasRole(SecurityContextHolder.getContext().getAuthentication(), role);
+    }
+
+    public boolean hasPermission(Authentication authentication, String permission) {
+        if (authentication == null) {
+            return false;
+        }
+        Grants granted = grantsOf(authentication);
+        int bit = granted.model.permissionBit(permission);
+        return bit >= 0 && granted.permissions.get(bit);
+    }
+
+    public boolean hasRole(Authentication authentication, String role) {
+        if (authentication == null) {
+            return false;
+        }
+        Grants granted = grantsOf(authentication);
+        int bit = granted.model.roleBit(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+        return bit >= 0 && granted.roles.get(bit);
+    }
+
+    private Grants grantsOf(Authentication authentication) {
+        PermissionModel current = model;
+        Grants granted = grants.getIfPresent(authentication);
+        if (granted == null || granted.model != current) {
+            List<String> authorities = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
+            granted = new Grants(current, current.permissionsOf(authorities), current.rolesOf(authorities));
+            grants.put(authentication, granted);
+        }
+        return granted;
+    }
+
+    private void retire(PermissionModel previous) {
+        Instant now = Instant.now();
+        Map<String, RetiredModel> retained = new LinkedHashMap<>();
+        retiredModels.forEach((version, retired) -> {
+            if (!retired.isExpired(now)) {
+                retained.put(version, retired);
+            }
+        });
+        if (!previous.getVersion().equals(model.getVersion()) && previous != PermissionModel.empty()) {
+            retained.put(previous.getVersion(), new RetiredModel(previous, now.plusSeconds(retiredModelRetentionSeconds)));
+        }
+        retained.remove(model.getVersion());
+        retiredModels = Map.copyOf(retained);
+    }
+
+    private static <T> Set<String> names(Collection<T> values, Function<T, String> name) {
+        return values.stream().map(name).collect(Collectors.toSet());
+    }
+
+    private static final class Grants {
+
+        private final PermissionModel model;
+        private final BitSet permissions;
+        private final BitSet roles;
+
+        private Grants(PermissionModel model, BitSet permissions, BitSet roles) {
+            this.model = model;
+            this.permissions = permissions;
+            this.roles = roles;
+        }
+    }
+
+    private static final class RetiredModel {
+
+        private final PermissionModel model;
+        private final Instant expiresAt;
+
+        private RetiredModel(PermissionModel model, Instant expiresAt) {
+            this.model = model;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.auth.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the caller resolved from the bearer token into a controller method parameter.
+ *
+ * <p>Supported parameter types are {@link AuthenticatedUser} and {@link Long} (the user id).
+ * Both come straight from the verified token claims; nothing is loaded from the database.</p>
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    /**
+     * Whether an unauthenticated request is rejected; otherwise {@code null} is injected.
+     */
+    boolean required() default true;
+}
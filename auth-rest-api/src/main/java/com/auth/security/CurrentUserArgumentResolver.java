@@ -0,0 +1,49 @@
+package com.auth.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the {@link AuthenticatedUser} principal
+ * set by {@link JwtAuthenticationFilter}.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == AuthenticatedUser.class || type == Long.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        boolean required = parameter.getParameterAnnotation(CurrentUser.class).required();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            if (required) {
+                throw new AuthenticationCredentialsNotFoundException("No authenticated user");
+            }
+            return null;
+        }
+
+        if (parameter.getParameterType() == Long.class) {
+            if (user.getId() == null && required) {
+                // Tokens issued before the uid claim existed; the client has to log in again
+                throw new InsufficientAuthenticationException("Token does not identify the user, please log in again");
+            }
+            return user.getId();
+        }
+        return user;
+    }
+}
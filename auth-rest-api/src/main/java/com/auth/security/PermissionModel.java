@@ -0,0 +1,208 @@
+package com.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Role hierarchy and role permissions compiled into bitsets.
+ *
+ * <p>Every permission and every role gets a fixed bit index. For each role the transitive closure
+ * of its included roles, and the union of their permissions, is computed once, so answering
+ * "does this role grant that permission" is a map lookup and a bit test however many roles and
+ * permissions exist. Instances are immutable and safe to share.</p>
+ */
+public final class PermissionModel {
+
+    private static final PermissionModel EMPTY = compile(Map.of(), Map.of(), List.of());
+
+    private final List<String> permissionNames;
+    private final List<String> roleNames;
+    private final Map<String, Integer> permissionBits;
+    private final Map<String, Integer> roleBits;
+    private final BitSet[] rolePermissions;
+    private final BitSet[] roleClosures;
+    private final String version;
+
+    private PermissionModel(List<String> permissionNames, List<String> roleNames,
+                            BitSet[] rolePermissions, BitSet[] roleClosures) {
+        this.permissionNames = List.copyOf(permissionNames);
+        this.roleNames = List.copyOf(roleNames);
+        this.permissionBits = indexOf(permissionNames);
+        this.roleBits = indexOf(roleNames);
+        this.rolePermissions = rolePermissions;
+        this.roleClosures = roleClosures;
+        this.version = versionOf(permissionNames, roleNames);
+    }
+
+    public static PermissionModel empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rolePermissions permissions granted directly to each role
+     * @param includedRoles   roles each role inherits from, e.g. ROLE_ADMIN -> ROLE_MODERATOR
+     * @param permissions     every known permission, including ones no role grants yet
+     */
+    public static PermissionModel compile(Map<String, ? extends Collection<String>> rolePermissions,
+                                          Map<String, ? extends Collection<String>> includedRoles,
+                                          Collection<String> permissions) {
+        // Sorted, so bit indexes do not depend on load order
+        Set<String> permissionSet = new TreeSet<>(permissions);
+        rolePermissions.values().forEach(permissionSet::addAll);
+        Set<String> roleSet = new TreeSet<>(rolePermissions.keySet());
+        roleSet.addAll(includedRoles.keySet());
+        includedRoles.values().forEach(roleSet::addAll);
+
+        List<String> permissionNames = List.copyOf(permissionSet);
+        List<String> roleNames = List.copyOf(roleSet);
+        Map<String, Integer> permissionBits = indexOf(permissionNames);
+        Map<String, Integer> roleBits = indexOf(roleNames);
+
+        BitSet[] direct = new BitSet[roleNames.size()];
+        for (int role = 0; role < roleNames.size(); role++) {
+            direct[role] = new BitSet(permissionNames.size());
+            for (String permission : valuesOf(rolePermissions, roleNames.get(role))) {
+                direct[role].set(permissionBits.get(permission));
+            }
+        }
+
+        BitSet[] closures = new BitSet[roleNames.size()];
+        BitSet[] effective = new BitSet[roleNames.size()];
+        for (int role = 0; role < roleNames.size(); role++) {
+            BitSet closure = new BitSet(roleNames.size());
+            Deque<String> pending = new ArrayDeque<>(List.of(roleNames.get(role)));
+            while (!pending.isEmpty()) {
+                int bit = roleBits.get(pending.pop());
+                if (!closure.get(bit)) {
+                    closure.set(bit);
+                    pending.addAll(valuesOf(includedRoles, roleNames.get(bit)));
+                }
+            }
+            BitSet granted = new BitSet(permissionNames.size());
+            closure.stream().forEach(included -> granted.or(direct[included]));
+            closures[role] = closure;
+            effective[role] = granted;
+        }
+        return new PermissionModel(permissionNames, roleNames, effective, closures);
+    }
+
+    /**
+     * Bit index of the permission, or {@code -1} if it is unknown.
+     */
+    public int permissionBit(String permission) {
+        return permissionBits.getOrDefault(permission, -1);
+    }
+
+    /**
+     * Bit index of the role, or {@code -1} if it is unknown.
+     */
+    public int roleBit(String role) {
+        return roleBits.getOrDefault(role, -1);
+    }
+
+    /**
+     * Four-character digest of the role and permission names. Bit indexes only mean the same thing
+     * in two models with the same version, so encoded masks must carry it. It is kept short because
+     * it travels in every compact token; only the current model and the few replaced within the
+     * access token validity are ever compared, so 24 bits leave collisions negligible.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Names of the roles whose bits are set in the mask; bits past the last role are ignored.
+     */
+    public List<String> roleNames(BitSet roles) {
+        return roles.stream().filter(bit -> bit < roleNames.size()).mapToObj(roleNames::get).toList();
+    }
+
+    public List<String> getPermissionNames() {
+        return permissionNames;
+    }
+
+    public List<String> getRoleNames() {
+        return roleNames;
+    }
+
+    /**
+     * Whether the role, directly or through the roles it includes, grants the permission bit.
+     */
+    public boolean grants(String role, int permissionBit) {
+        int bit = roleBit(role);
+        return bit >= 0 && permissionBit >= 0 && rolePermissions[bit].get(permissionBit);
+    }
+
+    /**
+     * Whether the role is the given role or includes it.
+     */
+    public boolean includes(String role, int roleBit) {
+        int bit = roleBit(role);
+        return bit >= 0 && roleBit >= 0 && roleClosures[bit].get(roleBit);
+    }
+
+    /**
+     * Union of the permissions granted by the given roles; unknown roles grant nothing.
+     */
+    public BitSet permissionsOf(Collection<String> roles) {
+        BitSet granted = new BitSet(permissionNames.size());
+        for (String role : roles) {
+            int bit = roleBit(role);
+            if (bit >= 0) {
+                granted.or(rolePermissions[bit]);
+            }
+        }
+        return granted;
+    }
+
+    /**
+     * Union of the given roles and every role they include; unknown roles contribute nothing.
+     */
+    public BitSet rolesOf(Collection<String> roles) {
+        BitSet included = new BitSet(roleNames.size());
+        for (String role : roles) {
+            int bit = roleBit(role);
+            if (bit >= 0) {
+                included.or(roleClosures[bit]);
+            }
+        }
+        return included;
+    }
+
+    private static String versionOf(List<String> permissionNames, List<String> roleNames) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.join(",", roleNames).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ';');
+            digest.update(String.join(",", permissionNames).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest.digest(), 3));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Collection<String> valuesOf(Map<String, ? extends Collection<String>> map, String key) {
+        Collection<String> values = map.get(key);
+        return values != null ? values : List.of();
+    }
+
+    private static Map<String, Integer> indexOf(List<String> names) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            index.put(names.get(i), i);
+        }
+        return Map.copyOf(index);
+    }
+}
@@ -0,0 +1,163 @@
+package com.auth.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Size-bounded, time-limited cache of {@link AuthUserDetails} snapshots keyed by username.
+ *
+ * <p>Snapshots are immutable and shared between callers, so a hot account is read from the
+ * database and its authorities built once per {@code ttl-seconds} rather than on every login or
+ * refresh. Writes that change what a snapshot holds (status flags, roles, password hash, deletion)
+ * must call {@link #invalidate(Long)}; entries are dropped immediately and again after the
+ * surrounding transaction commits. Every invalidation also advances a generation, and a loaded
+ * snapshot is only cached if no invalidation happened while it was loading, so a reader that read
+ * the row before the commit cannot re-cache it after the final drop.</p>
+ */
+@Component
+public class UserDetailsCache {
+
+    static final String CACHE_NAME = "security.user-details";
+
+    @Value("${app.security.user-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${app.security.user-cache.max-size:10000}")
+    private long maxSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, AuthUserDetails> cache;
+
+    // Lets id-based writes find the entry; kept in step with the cache by its removal listener
+    private final Map<Long, String> usernamesById = new ConcurrentHashMap<>();
+
+    // Advanced by every invalidation; a load that overlapped one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .<String, AuthUserDetails>removalListener((username, details, cause) -> {
+                    if (details != null && cause.wasEvicted()) {
+                        usernamesById.remove(details.getId(), username);
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached snapshot for the username, or loads and caches it.
+     * A loader returning {@code null} (unknown user) is not cached.
+     */
+    public AuthUserDetails get(String username, Function<String, AuthUserDetails> loader) {
+        if (cache == null) {
+            return loader.apply(username);
+        }
+        AuthUserDetails details = cache.getIfPresent(username);
+        if (details == null) {
+            long loadedAt = generation.get();
+            details = loader.apply(username);
+            putIfCurrent(details, loadedAt);
+        }
+        return details;
+    }
+
+    /**
+     * Returns the cached snapshot of the user with the given id, or loads and caches it.
+     */
+    public AuthUserDetails get(Long userId, Supplier<AuthUserDetails> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        String username = usernamesById.get(userId);
+        AuthUserDetails details = username != null ? cache.getIfPresent(username) : null;
+        if (details == null) {
+            long loadedAt = generation.get();
+            details = loader.get();
+            putIfCurrent(details, loadedAt);
+        }
+        return details;
+    }
+
+    public void invalidate(Long userId) {
+        invalidateNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateNow(userId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> userIds) {
+        userIds.forEach(this::invalidate);
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            generation.incrementAndGet();
+            cache.invalidateAll();
+            usernamesById.clear();
+        }
+    }
+
+    private void putIfCurrent(AuthUserDetails details, long loadedAt) {
+        if (details == null || details.getId() == null) {
+            return;
+        }
+        cache.asMap().compute(details.getUsername(), (username, current) -> {
+            // Mapped before the check: an invalidation that misses the check finds the entry and waits for us
+            usernamesById.put(details.getId(), username);
+            return generation.get() == loadedAt ? details : current;
+        });
+    }
+
+    private void invalidateNow(Long userId) {
+        if (cache == null || userId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        String username = usernamesById.remove(userId);
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.auth.security.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.auth.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects registration, authentication and MFA requests over their rate limit with
+ * {@code 429 Too Many Requests}, before they reach a controller and therefore before any password
+ * is hashed or verified.
+ *
+ * <p>Every request is limited by client address. It is also limited by username from that address
+ * when one is known: the authenticated principal for MFA routes, or the {@code username} field of a
+ * JSON body for login and registration. Only the head of the body is buffered to find that field; the request
+ * handed down the chain replays it unchanged.</p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    // Login and registration bodies are tiny; never buffer more than this to look for the username
+    static final int MAX_INSPECTED_BODY_BYTES = 8192;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final RateLimitService rateLimitService;
+
+    public RateLimitFilter(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitService.isEnabled() || RateLimitGroup.forPath(path(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitGroup group = RateLimitGroup.forPath(path(request));
+        HttpServletRequest forwarded = request;
+        String username = authenticatedUsername();
+        if (username == null && isJson(request)) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            username = buffered.readUsername();
+            forwarded = buffered;
+        }
+
+        long waitNanos = rateLimitService.tryAcquire(group, request.getRemoteAddr(), username);
+        if (waitNanos > 0) {
+            log.debug("Rate limited {} {} from {}", request.getMethod(), path(request), request.getRemoteAddr());
+            reject(response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUsername();
+        }
+        return null;
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, please retry later");
+    }
+
+    /**
+     * Reads up to {@link #MAX_INSPECTED_BODY_BYTES} of the body and replays them, followed by the
+     * unread remainder, to downstream readers.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private final ServletInputStream original;
+        // The head is the whole body, so nothing is left to read from the original stream
+        private final boolean complete;
+        private ServletInputStream replay;
+
+        private BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.original = request.getInputStream();
+            this.head = original.readNBytes(MAX_INSPECTED_BODY_BYTES);
+            this.complete = head.length < MAX_INSPECTED_BODY_BYTES || original.isFinished();
+        }
+
+        /**
+         * Returns the top level {@code username} string of the buffered JSON, or {@code null}.
+         */
+        private String readUsername() {
+            try (JsonParser parser = JSON_FACTORY.createParser(head)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                JsonToken token;
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    token = parser.nextToken();
+                    if ("username".equals(field) && token == JsonToken.VALUE_STRING) {
+                        return parser.getText();
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            } catch (IOException e) {
+                // malformed or truncated; the controller reports it, the address limit still applies
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (replay == null) {
+                replay = new ReplayInputStream();
+            }
+            return replay;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        /**
+         * Serves the buffered head, then the original stream. Non-blocking reads of a fully buffered
+         * body are answered at once; otherwise the listener is handed to the original stream, whose
+         * readiness then also covers the remaining head bytes.
+         */
+        private final class ReplayInputStream extends ServletInputStream {
+
+            private final ByteArrayInputStream buffered = new ByteArrayInputStream(head);
+
+            @Override
+            public int read() throws IOException {
+                int b = buffered.read();
+                return b >= 0 || complete ? b : original.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (length == 0) {
+                    return 0;
+                }
+                int n = buffered.read(buffer, offset, length);
+                return n > 0 || complete ? n : original.read(buffer, offset, length);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return buffered.available() == 0 && (complete || original.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return buffered.available() > 0 || complete || original.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                if (!complete) {
+                    original.setReadListener(listener);
+                    return;
+                }
+                try {
+                    if (!isFinished()) {
+                        listener.onDataAvailable();
+                    }
+                    if (isFinished()) {
+                        listener.onAllDataRead();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    listener.onError(e);
+                }
+            }
+        }
+    }
+}
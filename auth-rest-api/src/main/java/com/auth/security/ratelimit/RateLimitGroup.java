@@ -0,0 +1,37 @@
+package com.auth.security.ratelimit;
+
+/**
+ * Groups of endpoints that share a rate limit configuration under {@code app.rate-limit.<key>}.
+ */
+public enum RateLimitGroup {
+
+    REGISTER("register"),
+    AUTH("auth"),
+    MFA("mfa");
+
+    private final String key;
+
+    RateLimitGroup(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Resolves the group of a request path, or {@code null} for paths that are not rate limited.
+     */
+    public static RateLimitGroup forPath(String path) {
+        if (path.equals("/api/users/register")) {
+            return REGISTER;
+        }
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/users/mfa/")) {
+            return MFA;
+        }
+        return null;
+    }
+}
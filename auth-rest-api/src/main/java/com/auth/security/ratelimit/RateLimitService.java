@@ -0,0 +1,90 @@
+package com.auth.security.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds one IP limiter and one username-per-IP limiter per {@link RateLimitGroup}.
+ *
+ * <p>Limits are read from {@code app.rate-limit.<group>.ip.*} and {@code app.rate-limit.<group>.username.*}
+ * ({@code requests-per-minute} and {@code burst}), falling back to the defaults below.</p>
+ */
+@Component
+public class RateLimitService {
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<RateLimitGroup, RateLimiter> ipLimiters = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, RateLimiter> usernameLimiters = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> rejections = new EnumMap<>(RateLimitGroup.class);
+
+    @PostConstruct
+    void init() {
+        configure(RateLimitGroup.REGISTER, 10, 5, 5, 3);
+        configure(RateLimitGroup.AUTH, 60, 20, 10, 5);
+        configure(RateLimitGroup.MFA, 30, 10, 10, 5);
+    }
+
+    private void configure(RateLimitGroup group, int ipPerMinute, int ipBurst, int userPerMinute, int userBurst) {
+        String prefix = "app.rate-limit." + group.getKey();
+        ipLimiters.put(group, new RateLimiter(
+                environment.getProperty(prefix + ".ip.requests-per-minute", Integer.class, ipPerMinute),
+                environment.getProperty(prefix + ".ip.burst", Integer.class, ipBurst),
+                maxTrackedKeys));
+        usernameLimiters.put(group, new RateLimiter(
+                environment.getProperty(prefix + ".username.requests-per-minute", Integer.class, userPerMinute),
+                environment.getProperty(prefix + ".username.burst", Integer.class, userBurst),
+                maxTrackedKeys));
+        if (meterRegistry != null) {
+            rejections.put(group, Counter.builder("rate-limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("group", group.getKey())
+                    .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the client address bucket and, when known, the bucket of the username as
+     * used from that address. Keying the username bucket by address as well means requests naming a
+     * victim's username from other addresses cannot throttle the victim.
+     *
+     * @return {@code 0} if the request may proceed, otherwise the nanoseconds until it may be retried
+     */
+    public long tryAcquire(RateLimitGroup group, String clientIp, String username) {
+        long wait = ipLimiters.get(group).tryAcquire(clientIp);
+        if (wait == 0 && username != null && !username.isBlank()) {
+            wait = usernameLimiters.get(group).tryAcquire(username.trim().toLowerCase(Locale.ROOT) + "@" + clientIp);
+        }
+        if (wait > 0) {
+            Counter counter = rejections.get(group);
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+        return wait;
+    }
+}
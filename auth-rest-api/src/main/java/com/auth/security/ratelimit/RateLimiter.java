@@ -0,0 +1,73 @@
+package com.auth.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Lock-free token bucket per key, implemented as the generic cell rate algorithm.
+ *
+ * <p>Each key holds a single {@link AtomicLong}: the theoretical arrival time of the next request.
+ * Taking a token is one compare-and-set, so contended keys never block each other. Keys idle long
+ * enough for their bucket to refill completely are evicted, and the number of tracked keys is
+ * bounded, so an attacker rotating usernames or addresses cannot grow memory without limit.</p>
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param requestsPerMinute sustained rate
+     * @param burst             requests allowed back to back when the bucket is full
+     * @param maxKeys           upper bound on tracked keys
+     */
+    public RateLimiter(int requestsPerMinute, int burst, long maxKeys) {
+        this(requestsPerMinute, burst, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int requestsPerMinute, int burst, long maxKeys, LongSupplier clock) {
+        if (requestsPerMinute < 1 || burst < 1) {
+            throw new IllegalArgumentException("Rate limits must be positive: " + requestsPerMinute + "/min, burst " + burst);
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos + emissionIntervalNanos))
+                .build();
+    }
+
+    /**
+     * Takes a token for the key if one is available.
+     *
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long stored = bucket.get();
+            long arrival = stored - now > 0 ? stored : now;
+            long wait = arrival - burstToleranceNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(stored, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
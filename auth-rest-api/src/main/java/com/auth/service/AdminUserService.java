@@ -0,0 +1,221 @@
+package com.auth.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth.dto.BulkUserRequest;
+import com.auth.dto.UserPage;
+import com.auth.dto.UserSummary;
+import com.auth.repository.RefreshTokenRepository;
+import com.auth.repository.UserFilter;
+import com.auth.repository.UserRepository;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.LoginAttemptService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Admin operations on many users at once. Each bulk change runs as one UPDATE or DELETE without loading the
+ * users, and returns the number of affected rows.
+ *
+ * <p>The administrator running an operation is never part of it, so a filter such as "all admins" cannot lock
+ * them out.</p>
+ *
+ * <p>Listing and export read projections only. Listing seeks on the id, so a page costs the same wherever it is;
+ * export streams from a cursor with {@code app.admin.export.fetch-size} rows in flight. Memory use of both is
+ * independent of the number of users.</p>
+ */
+@Service
+@Transactional
+public class AdminUserService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminUserService.class);
+
+    // Leading characters that make spreadsheet applications read a CSV cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.admin.export.fetch-size:500}")
+    private int exportFetchSize = 500;
+
+    @Transactional(readOnly = true)
+    public UserPage listUsers(UserFilter filter, Long afterId, int limit) {
+        List<UserSummary> users = userRepository.findSummaries(filter, afterId, limit);
+        Long nextAfterId = users.size() == limit ? users.get(users.size() - 1).getId() : null;
+        return new UserPage(users, nextAfterId);
+    }
+
+    /**
+     * Writes every matching user to {@code out} as the rows arrive from the database.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(UserFilter filter, UserExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == UserExportFormat.CSV) {
+            writer.write("id,username,email,enabled,account_non_locked,email_verified,created_at,last_login_at,roles\n");
+        }
+        long count = 0;
+        try (Stream<UserSummary> users = userRepository.streamSummaries(filter, exportFetchSize)) {
+            Iterator<UserSummary> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserSummary user = iterator.next();
+                writer.write(format == UserExportFormat.CSV ? toCsv(user) : objectMapper.writeValueAsString(user));
+                writer.write('\n');
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} users as {}", count, format);
+        return count;
+    }
+
+    /**
+     * Locks the selected users and revokes their refresh tokens, signing them out of every device.
+     */
+    public int lockUsers(BulkUserRequest request, Long currentUserId) {
+        Set<Long> userIds = selectedIds(request, currentUserId);
+        LocalDateTime now = LocalDateTime.now();
+        int locked;
+        if (userIds != null) {
+            locked = userRepository.updateAccountNonLocked(userIds, false, now);
+            refreshTokenRepository.revokeAllByUserIdIn(userIds, now);
+        } else {
+            // Revoke first: the filter may select on the lock state the update is about to change
+            userRepository.revokeRefreshTokens(request.getFilter(), currentUserId, now);
+            locked = userRepository.updateAccountNonLocked(request.getFilter(), currentUserId, false, now);
+        }
+        return affected("lock", userIds, locked);
+    }
+
+    public int unlockUsers(BulkUserRequest request, Long currentUserId) {
+        Set<Long> userIds = selectedIds(request, currentUserId);
+        int unlocked;
+        if (userIds != null) {
+            userIds.forEach(loginAttemptService::reset);
+            unlocked = userRepository.updateAccountNonLocked(userIds, true, LocalDateTime.now());
+        } else {
+            // Write pending lockouts first so the unlock below covers them instead of being undone by them
+            loginAttemptService.flush();
+            // Read the matches before the update, which may change the lock state the filter selects on
+            List<Long> matched = userRepository.findIds(request.getFilter(), currentUserId);
+            unlocked = userRepository.updateAccountNonLocked(request.getFilter(), currentUserId, true, LocalDateTime.now());
+            // As for an unlock by id, drop the failures that would otherwise re-lock on the next attempt
+            matched.forEach(loginAttemptService::reset);
+        }
+        return affected("unlock", userIds, unlocked);
+    }
+
+    public int disableUsers(BulkUserRequest request, Long currentUserId) {
+        Set<Long> userIds = selectedIds(request, currentUserId);
+        int disabled = userIds != null
+                ? userRepository.updateEnabled(userIds, false, LocalDateTime.now())
+                : userRepository.updateEnabled(request.getFilter(), currentUserId, false, LocalDateTime.now());
+        return affected("disable", userIds, disabled);
+    }
+
+    public int enableUsers(BulkUserRequest request, Long currentUserId) {
+        Set<Long> userIds = selectedIds(request, currentUserId);
+        int enabled = userIds != null
+                ? userRepository.updateEnabled(userIds, true, LocalDateTime.now())
+                : userRepository.updateEnabled(request.getFilter(), currentUserId, true, LocalDateTime.now());
+        return affected("enable", userIds, enabled);
+    }
+
+    public int deleteUsers(BulkUserRequest request, Long currentUserId) {
+        Set<Long> userIds = selectedIds(request, currentUserId);
+        int deleted = userIds != null
+                ? userRepository.deleteAllByIdIn(userIds)
+                : userRepository.deleteMatching(request.getFilter(), currentUserId);
+        return affected("delete", userIds, deleted);
+    }
+
+    /**
+     * Returns the requested ids without the current user, or {@code null} when the request selects by filter.
+     */
+    private Set<Long> selectedIds(BulkUserRequest request, Long currentUserId) {
+        boolean hasIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        if (hasIds == (request.getFilter() != null)) {
+            throw new IllegalArgumentException("Specify either userIds or filter");
+        }
+        if (!hasIds) {
+            if (request.getFilter().isEmpty()) {
+                throw new IllegalArgumentException("Filter must set at least one criterion");
+            }
+            return null;
+        }
+        Set<Long> userIds = new HashSet<>(request.getUserIds());
+        userIds.remove(currentUserId);
+        if (userIds.isEmpty()) {
+            throw new IllegalArgumentException("An administrator cannot apply bulk operations to their own account");
+        }
+        return userIds;
+    }
+
+    private int affected(String operation, Set<Long> userIds, int count) {
+        if (userIds != null) {
+            userDetailsCache.invalidateAll(userIds);
+        } else {
+            // Which users matched is unknown without reading them back, so drop every cached snapshot
+            userDetailsCache.invalidateAll();
+        }
+        log.info("Bulk {} affected {} users", operation, count);
+        return count;
+    }
+
+    private static String toCsv(UserSummary user) {
+        return String.join(",",
+                String.valueOf(user.getId()),
+                csvField(user.getUsername()),
+                csvField(user.getEmail()),
+                String.valueOf(user.getEnabled()),
+                String.valueOf(user.getAccountNonLocked()),
+                String.valueOf(user.getEmailVerified()),
+                user.getCreatedAt() == null ? "" : user.getCreatedAt().toString(),
+                user.getLastLoginAt() == null ? "" : user.getLastLoginAt().toString(),
+                csvField(String.join(" ", user.getRoles())));
+    }
+
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if (FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            // Spreadsheets would evaluate e.g. a username of =HYPERLINK(...) when the export is opened
+            return "\"'" + value.replace("\"", "\"\"") + '"';
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
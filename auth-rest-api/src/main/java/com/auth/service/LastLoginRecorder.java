@@ -0,0 +1,146 @@
+package com.auth.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.entity.User;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Write-behind buffer for {@code users.last_login_at}.
+ *
+ * <p>Logins only record the time in memory; repeated logins of the same user between flushes
+ * collapse into one entry holding the latest time. Every {@code app.security.last-login.flush-interval-millis}
+ * and on shutdown the buffer is written as one JDBC batch of updates in a single transaction,
+ * ordered by id so concurrent writers lock rows in the same order. {@code lastLoginAt} may
+ * therefore lag by up to one interval, and is lost for logins in the last interval if the
+ * process dies without a graceful shutdown.</p>
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    @Value("${app.security.last-login.flush-interval-millis:5000}")
+    private long flushIntervalMillis;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:}")
+    private String schema;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private String updateSql;
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void init() {
+        String table = schema == null || schema.isBlank() ? "users" : schema + ".users";
+        updateSql = "UPDATE " + table + " SET last_login_at = ? WHERE id = ?";
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (meterRegistry != null) {
+            meterRegistry.gauge("login.last-login.pending", pending, Map::size);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Writes every buffered login time.
+     *
+     * @return the number of users written
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>();
+        for (Long userId : pending.keySet()) {
+            // remove() hands each entry to exactly one flush; a login racing with it starts a new entry
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                batch.add(Map.entry(userId, loginAt));
+            }
+        }
+        batch.sort(Comparator.comparing(Map.Entry::getKey));
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(updateSql, batch, batch.size(),
+                    (statement, entry) -> {
+                        statement.setTimestamp(1, Timestamp.valueOf(entry.getValue()));
+                        statement.setLong(2, entry.getKey());
+                    }));
+        } catch (RuntimeException e) {
+            // Put the times back unless a newer login was recorded meanwhile
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+            throw e;
+        }
+        // The update bypasses Hibernate, so drop second-level cached copies that still hold the old time
+        batch.forEach(entry -> entityManagerFactory.getCache().evict(User.class, entry.getKey()));
+        log.debug("Wrote last login time of {} users", batch.size());
+        return batch.size();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write last login times, retrying next interval: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.auth.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.dto.LoginRequest;
+import com.auth.dto.TokenResponse;
+import com.auth.entity.RefreshToken;
+import com.auth.entity.User;
+import com.auth.repository.UserRepository;
+import com.auth.security.AuthUserDetails;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.JwtService;
+import com.auth.service.security.LoginAttemptService;
+import com.auth.service.security.PasswordService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Password login issuing an access token and a refresh token.
+ *
+ * <p>The path runs a fixed number of SQL statements regardless of how many roles the user has:
+ * one select for the user and its roles (skipped when {@link UserDetailsCache} holds the user)
+ * and one insert for the refresh token, plus an update when the stored hash is outdated. The last
+ * login time is handed to {@link LastLoginRecorder} and written later in a batch. The password
+ * hash is checked outside the transaction, so no connection is held while hashing.</p>
+ */
+@Service
+public class LoginService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginService.class);
+
+    static final String DEFAULT_CLIENT_ID = "auth-rest-api";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private PasswordService passwordService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.jwt.access-token-validity:3600}")
+    private long accessTokenValidity;
+
+    @Value("${app.jwt.refresh-token-validity:86400}")
+    private long refreshTokenValidity;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Checked against when the user does not exist, so unknown usernames take as long as wrong passwords
+    private String dummyPasswordHash;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        dummyPasswordHash = passwordService.hashPassword("login-timing-equalizer");
+    }
+
+    public TokenResponse login(LoginRequest request) {
+        AuthUserDetails user = userDetailsCache.get(request.getUsername(), username ->
+                userRepository.findByUsernameWithRoles(username).map(AuthUserDetails::from).orElse(null));
+        if (user == null) {
+            passwordService.verifyPassword(request.getPassword(), dummyPasswordHash);
+            throw new BadCredentialsException("Invalid username or password");
+        }
+        if (!passwordService.verifyPassword(request.getPassword(), user.getPassword())) {
+            if (loginAttemptService.recordFailure(user.getId())) {
+                throw new LockedException("User account is locked");
+            }
+            throw new BadCredentialsException("Invalid username or password");
+        }
+        checkAccountStatus(user);
+        if (loginAttemptService.isLocked(user.getId())) {
+            // Locked by failed attempts, not yet written to the database
+            throw new LockedException("User account is locked");
+        }
+        loginAttemptService.recordSuccess(user.getId());
+
+        // The plain password is only known here, so this is where outdated hashes get upgraded
+        String upgradedHash = passwordService.needsRehash(user.getPassword())
+                ? passwordService.hashPassword(request.getPassword()) : null;
+
+        String accessToken = jwtService.generateAccessToken(user);
+        String clientId = request.getClientId() == null || request.getClientId().isBlank()
+                ? DEFAULT_CLIENT_ID : request.getClientId();
+
+        RefreshToken refreshToken = transactionTemplate.execute(status -> {
+            // A reference is enough to set the foreign key, so the cached snapshot never needs the entity
+            User owner = userRepository.getReferenceById(user.getId());
+            RefreshToken created = refreshTokenService.createRefreshToken(owner, clientId, refreshTokenValidity);
+            if (upgradedHash != null) {
+                userRepository.updatePasswordHash(user.getId(), upgradedHash);
+                userDetailsCache.invalidate(user.getId());
+            }
+            return created;
+        });
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+
+        log.debug("User {} logged in with client {}", user.getUsername(), clientId);
+        return new TokenResponse(accessToken, refreshToken.getTokenValue(), accessTokenValidity);
+    }
+
+    private static void checkAccountStatus(AuthUserDetails user) {
+        if (!user.isEnabled()) {
+            throw new DisabledException("User account is disabled");
+        }
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("User account is locked");
+        }
+        if (!user.isAccountNonExpired()) {
+            throw new DisabledException("User account has expired");
+        }
+        if (!user.isCredentialsNonExpired()) {
+            throw new CredentialsExpiredException("User credentials have expired");
+        }
+    }
+}
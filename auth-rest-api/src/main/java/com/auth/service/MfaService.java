@@ -6,11 +6,13 @@ import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.stereotype.Service;
 
 import com.auth.dto.MfaSetupResponse;
 import com.auth.entity.User;
 import com.auth.repository.UserRepository;
+import com.auth.service.security.LoginAttemptService;
 
 @Service
 public class MfaService {
@@ -18,6 +20,9 @@ public class MfaService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
     @Value("${app.mfa.issuer:Auth Server}")
     private String issuer;
 
@@ -61,17 +66,28 @@ public class MfaService {
         if (!user.getMfaEnabled()) {
             throw new RuntimeException("MFA is not enabled for this user");
         }
+        if (!user.getAccountNonLocked() || loginAttemptService.isLocked(userId)) {
+            throw new LockedException("User account is locked");
+        }
 
         // Check if it's a backup code
         if (user.getMfaBackupCodes().contains(code)) {
             // Remove used backup code
             user.getMfaBackupCodes().remove(code);
             userRepository.save(user);
+            loginAttemptService.recordSuccess(userId);
             return true;
         }
 
         // Verify TOTP code (simplified - in production use a proper TOTP library)
-        return verifyTotpCode(user.getMfaSecret(), code);
+        if (verifyTotpCode(user.getMfaSecret(), code)) {
+            loginAttemptService.recordSuccess(userId);
+            return true;
+        }
+        if (loginAttemptService.recordFailure(userId)) {
+            throw new LockedException("User account is locked");
+        }
+        return false;
     }
 
     public void disableMfa(Long userId) {
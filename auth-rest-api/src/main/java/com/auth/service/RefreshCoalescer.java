@@ -0,0 +1,158 @@
+package com.auth.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth.dto.TokenResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Collapses concurrent refreshes of the same refresh token into one rotation.
+ *
+ * <p>The first request for a token runs {@link RefreshTokenService#refreshAccessToken(String)} on its own thread;
+ * duplicates arriving while it runs wait for it and receive the same {@link TokenResponse}, as do duplicates
+ * arriving within {@code grace-millis} after it completed. Failures are handed to the waiting duplicates but not
+ * kept, so a later retry rotates afresh. Entries are keyed by the SHA-256 digest of the token, so the presented
+ * token is never retained; the issued tokens are held in memory for the grace window only.</p>
+ *
+ * <p>Coalescing is per process. Duplicates that reach different instances still race on the conditional revoke,
+ * and all but one of them are rejected as before.</p>
+ */
+@Component
+public class RefreshCoalescer {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Value("${app.jwt.refresh-coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jwt.refresh-coalescing.grace-millis:2000}")
+    private long graceMillis;
+
+    @Value("${app.jwt.refresh-coalescing.wait-timeout-millis:5000}")
+    private long waitTimeoutMillis;
+
+    @Value("${app.jwt.refresh-coalescing.max-size:10000}")
+    private long maxSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // In-flight rotations live until the wait timeout; a completed one is re-put and lives for the grace window
+    private Cache<ByteBuffer, CompletableFuture<TokenResponse>> rotations;
+
+    private Counter coalesced;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        long inFlightNanos = TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        long graceNanos = TimeUnit.MILLISECONDS.toNanos(graceMillis);
+        rotations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, CompletableFuture<TokenResponse>>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, CompletableFuture<TokenResponse> rotation,
+                            long currentTime) {
+                        return inFlightNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, CompletableFuture<TokenResponse> rotation,
+                            long currentTime, long currentDuration) {
+                        return graceNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, CompletableFuture<TokenResponse> rotation,
+                            long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        if (meterRegistry != null) {
+            coalesced = Counter.builder("jwt.refresh.coalesced")
+                    .description("Refresh requests answered by a rotation started for a duplicate request")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Rotates the refresh token, or joins the rotation of the same token that is running or has just completed.
+     */
+    public TokenResponse refresh(String refreshTokenValue) {
+        if (rotations == null) {
+            return refreshTokenService.refreshAccessToken(refreshTokenValue);
+        }
+        ByteBuffer key = digest(refreshTokenValue);
+        CompletableFuture<TokenResponse> rotation = new CompletableFuture<>();
+        CompletableFuture<TokenResponse> existing = rotations.asMap().putIfAbsent(key, rotation);
+        if (existing != null) {
+            if (coalesced != null) {
+                coalesced.increment();
+            }
+            return await(existing);
+        }
+
+        try {
+            // The service commits before returning, so duplicates only ever see a rotation that is durable
+            TokenResponse tokens = refreshTokenService.refreshAccessToken(refreshTokenValue);
+            rotation.complete(tokens);
+            rotations.asMap().replace(key, rotation, rotation);
+            return tokens;
+        } catch (RuntimeException | Error e) {
+            rotation.completeExceptionally(e);
+            rotations.asMap().remove(key, rotation);
+            throw e;
+        }
+    }
+
+    private TokenResponse await(CompletableFuture<TokenResponse> rotation) {
+        try {
+            return rotation.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Refresh failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Refresh of the same token still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for refresh", e);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
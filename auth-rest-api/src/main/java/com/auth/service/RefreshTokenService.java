@@ -6,15 +6,24 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.auth.dto.TokenResponse;
 import com.auth.entity.RefreshToken;
 import com.auth.entity.User;
 import com.auth.repository.RefreshTokenRepository;
 import com.auth.repository.UserRepository;
+import com.auth.security.AuthUserDetails;
+import com.auth.security.UserDetailsCache;
 import com.auth.service.security.JwtService;
+import com.auth.service.security.LoginAttemptService;
 
 @Service
 @Transactional
@@ -29,6 +38,20 @@ public class RefreshTokenService {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    private final UserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    @Value("${app.jwt.access-token-validity:3600}")
+    private long accessTokenValidity;
+
+    @Value("${app.jwt.refresh-token-validity:86400}")
+    private long refreshTokenValidity;
+
     public RefreshToken createRefreshToken(User user, String clientId, long validityInSeconds) {
         String tokenValue = UUID.randomUUID().toString();
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(validityInSeconds);
@@ -41,8 +64,24 @@ public class RefreshTokenService {
         return refreshTokenRepository.findByTokenValue(tokenValue);
     }
 
-    public String refreshAccessToken(String refreshTokenValue) {
-        RefreshToken refreshToken = refreshTokenRepository.findByTokenValue(refreshTokenValue)
+    /**
+     * Rotates the refresh token: issues a new access token and a successor refresh token, and revokes the presented one.
+     *
+     * <p>Runs one select for the token, its user and roles, one insert for the successor and one conditional update
+     * that revokes the token only if it is still valid. When two requests rotate the same token concurrently, only
+     * one update matches; the other fails and its successor insert is rolled back.</p>
+     *
+     * <p>The account must pass the same status checks as a login: enabled, not expired, credentials not expired and
+     * not locked, including locks {@link LoginAttemptService} has not written yet. A disabled or expired account has
+     * every refresh token revoked, and that revocation commits although the call throws. A locked account is only
+     * rejected: failed attempts lock it too, and locking it is not meant to sign its owner out. Administrator locks
+     * revoke the tokens when they are set.</p>
+     *
+     * @throws AccountStatusException if the account may no longer obtain tokens
+     */
+    @Transactional(noRollbackFor = AccountStatusException.class)
+    public TokenResponse refreshAccessToken(String refreshTokenValue) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenValueWithUser(refreshTokenValue)
                 .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
 
         if (!refreshToken.isValid()) {
@@ -50,30 +89,29 @@ public class RefreshTokenService {
         }
 
         User user = refreshToken.getUser();
-        if (!user.getEnabled()) {
-            throw new RuntimeException("User account is disabled");
+        UserDetails userDetails = userDetailsCache.get(user.getId(), () -> AuthUserDetails.from(user));
+        try {
+            accountStatusChecker.check(userDetails);
+        } catch (LockedException e) {
+            // Failed attempts lock the account too, so anyone knowing the username could otherwise log its owner
+            // out everywhere; an administrator lock revokes the tokens when it is set
+            throw e;
+        } catch (AccountStatusException e) {
+            refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
+            throw e;
+        }
+        if (loginAttemptService.isLocked(user.getId())) {
+            // Locked by failed attempts, not yet written to the database
+            throw new LockedException("User account is locked");
         }
 
-        // Generate new access token
-        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .disabled(!user.getEnabled())
-                .accountExpired(!user.getAccountNonExpired())
-                .credentialsExpired(!user.getCredentialsNonExpired())
-                .accountLocked(!user.getAccountNonLocked())
-                .authorities(user.getRoles().stream()
-                        .map(role -> role.getName())
-                        .toArray(String[]::new))
-                .build();
+        RefreshToken successor = createRefreshToken(user, refreshToken.getClientId(), refreshTokenValidity);
+        if (refreshTokenRepository.revokeAndReplace(refreshToken.getId(), successor, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Refresh token is expired or revoked");
+        }
 
         String newAccessToken = jwtService.generateAccessToken(userDetails);
-
-        // Revoke the current refresh token
-        refreshToken.revoke();
-        refreshTokenRepository.save(refreshToken);
-
-        return newAccessToken;
+        return new TokenResponse(newAccessToken, successor.getTokenValue(), accessTokenValidity);
     }
 
     public void revokeRefreshToken(String tokenValue) {
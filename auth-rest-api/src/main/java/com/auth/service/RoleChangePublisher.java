@@ -0,0 +1,138 @@
+package com.auth.service;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.auth.entity.Permission;
+import com.auth.entity.Role;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Publishes a {@link RolesChangedEvent} when roles or permissions are written through JPA, so the
+ * in-memory {@link RoleRegistry} and authorization model follow role changes without a restart.
+ *
+ * <p>Hooks into Hibernate's post-write events for {@link Role} and {@link Permission} rows and for
+ * the {@code role_permissions} and {@code role_hierarchy} collections. However many rows a
+ * transaction touches, one event is published after it commits; nothing is published on rollback.
+ * Bulk JPQL statements and changes made directly in the database bypass these events; callers
+ * making them publish the event themselves, and unknown role names still reload on a miss.</p>
+ */
+@Component
+public class RoleChangePublisher implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, PostCollectionRecreateEventListener, PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    // Bound to the transaction once a change was seen, so its commit publishes a single event
+    private static final Object PENDING = RoleChangePublisher.class.getName() + ".pending";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        entityChanged(event.getEntity());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        collectionChanged(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void entityChanged(Object entity) {
+        if (entity instanceof Role || entity instanceof Permission) {
+            changed();
+        }
+    }
+
+    private void collectionChanged(AbstractCollectionEvent event) {
+        // Role.users is the inverse side of user role assignments, which the user details cache handles
+        if (event.getAffectedOwnerOrNull() instanceof Role role && event.getCollection() != role.getUsers()) {
+            changed();
+        }
+    }
+
+    /**
+     * Publishes a {@link RolesChangedEvent} once the current transaction commits, or at once outside one.
+     */
+    public void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventPublisher.publishEvent(new RolesChangedEvent(this));
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(PENDING)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(PENDING, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING);
+                if (status == STATUS_COMMITTED) {
+                    eventPublisher.publishEvent(new RolesChangedEvent(RoleChangePublisher.this));
+                }
+            }
+        });
+    }
+}
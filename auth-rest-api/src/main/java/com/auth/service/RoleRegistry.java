@@ -0,0 +1,144 @@
+package com.auth.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.entity.Role;
+import com.auth.repository.RoleRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory index of the {@code roles} table, loaded once at startup.
+ *
+ * <p>Lookups return detached {@link Role} instances carrying the id, which is all Hibernate needs
+ * to write a {@code user_roles} row, so resolving roles on registration and role updates runs no
+ * query. The table is tiny and rarely changes: {@link #reload()} swaps in a fresh snapshot, which
+ * happens after every committed role write published as a {@link RolesChangedEvent}. A lookup of an
+ * unknown name also reloads, at most once per {@code app.security.role-registry.miss-reload-seconds},
+ * so roles added directly in the database are picked up without letting bad names hammer the table.</p>
+ */
+@Component
+public class RoleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(RoleRegistry.class);
+
+    @Value("${app.security.role-registry.miss-reload-seconds:60}")
+    private long missReloadSeconds;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0);
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /**
+     * Re-reads every role and atomically replaces the index.
+     */
+    public synchronized void reload() {
+        // A new transaction, as this also runs from the commit of the transaction that changed the roles
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        List<Role> roles = transactionTemplate.execute(status -> roleRepository.findAll());
+        snapshot = new Snapshot(roles, System.nanoTime());
+        log.debug("Loaded roles {}", snapshot.byName.keySet());
+    }
+
+    @EventListener
+    public void onRolesChanged(RolesChangedEvent event) {
+        reload();
+    }
+
+    public Optional<Role> findByName(String name) {
+        Snapshot current = snapshot;
+        RoleEntry entry = current.byName.get(name);
+        if (entry == null && reloadAfterMiss(current)) {
+            entry = snapshot.byName.get(name);
+        }
+        return Optional.ofNullable(entry).map(RoleEntry::toRole);
+    }
+
+    public Optional<Role> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId.get(id)).map(RoleEntry::toRole);
+    }
+
+    public Set<String> getRoleNames() {
+        return snapshot.byName.keySet();
+    }
+
+    private boolean reloadAfterMiss(Snapshot seen) {
+        synchronized (this) {
+            if (snapshot != seen) {
+                // Another caller already reloaded
+                return true;
+            }
+            if (System.nanoTime() - seen.loadedAt < TimeUnit.SECONDS.toNanos(missReloadSeconds)) {
+                return false;
+            }
+            reload();
+            return true;
+        }
+    }
+
+    private static final class RoleEntry {
+
+        private final Long id;
+        private final String name;
+        private final String description;
+
+        private RoleEntry(Long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        // A fresh detached copy per caller, so nobody can modify the shared index through a setter
+        private Role toRole() {
+            Role role = new Role(name, description);
+            role.setId(id);
+            return role;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final Map<String, RoleEntry> byName;
+        private final Map<Long, RoleEntry> byId;
+        private final long loadedAt;
+
+        private Snapshot(List<Role> roles, long loadedAt) {
+            Map<String, RoleEntry> names = new LinkedHashMap<>();
+            Map<Long, RoleEntry> ids = new LinkedHashMap<>();
+            for (Role role : roles) {
+                RoleEntry entry = new RoleEntry(role.getId(), role.getName(), role.getDescription());
+                names.put(entry.name, entry);
+                ids.put(entry.id, entry);
+            }
+            this.byName = Map.copyOf(names);
+            this.byId = Map.copyOf(ids);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.auth.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by the {@link RoleChangePublisher} after a transaction that created, changed or deleted
+ * roles or permissions, including their permission grants and role hierarchy, has committed.
+ */
+public class RolesChangedEvent extends ApplicationEvent {
+
+    public RolesChangedEvent(Object source) {
+        super(source);
+    }
+}
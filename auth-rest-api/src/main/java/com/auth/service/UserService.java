@@ -2,6 +2,7 @@ package com.auth.service;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -22,9 +23,12 @@ import com.auth.dto.UserRegistrationRequest;
 import com.auth.dto.UserResponse;
 import com.auth.entity.Role;
 import com.auth.entity.User;
-import com.auth.repository.RoleRepository;
+import com.auth.repository.RefreshTokenRepository;
 import com.auth.repository.UserRepository;
+import com.auth.security.AuthUserDetails;
+import com.auth.security.UserDetailsCache;
 import com.auth.service.email.EmailService;
+import com.auth.service.security.LoginAttemptService;
 import com.auth.service.security.PasswordService;
 
 @Service
@@ -37,7 +41,10 @@ public class UserService implements UserDetailsService {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
 
     @Autowired
     private PasswordService passwordService;
@@ -45,26 +52,27 @@ public class UserService implements UserDetailsService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
-
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .disabled(!user.getEnabled())
-                .accountExpired(!user.getAccountNonExpired())
-                .credentialsExpired(!user.getCredentialsNonExpired())
-                .accountLocked(!user.getAccountNonLocked())
-                .authorities(user.getRoles().stream()
-                        .map(Role::getName)
-                        .toArray(String[]::new))
-                .build();
+        AuthUserDetails userDetails = userDetailsCache.get(username, name ->
+                userRepository.findByUsernameWithRoles(name).map(AuthUserDetails::from).orElse(null));
+        if (userDetails == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        return userDetails;
     }
 
     @Async
@@ -89,6 +97,9 @@ public class UserService implements UserDetailsService {
             throw new RuntimeException("Email already exists");
         }
 
+        // Reject weak and breached passwords before spending a hash on them
+        passwordService.validatePasswordStrength(request.getPassword());
+
         // Create new user
         User user = new User();
         user.setUsername(request.getUsername());
@@ -104,7 +115,7 @@ public class UserService implements UserDetailsService {
         user.setEmailVerificationExpiresAt(LocalDateTime.now().plusHours(24));
 
         // Assign default role
-        Role userRole = roleRepository.findByName("ROLE_USER")
+        Role userRole = roleRegistry.findByName("ROLE_USER")
                 .orElseThrow(() -> new RuntimeException("Default role not found"));
         user.addRole(userRole);
 
@@ -132,16 +143,16 @@ public class UserService implements UserDetailsService {
         return false;
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        User user = userRepository.findById(id)
+        return userRepository.findResponseById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return new UserResponse(user);
     }
 
+    @Transactional(readOnly = true)
     public UserResponse getUserByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        return userRepository.findResponseByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return new UserResponse(user);
     }
 
     public UserResponse updateUserProfile(Long userId, String firstName, String lastName) {
@@ -162,53 +173,61 @@ public class UserService implements UserDetailsService {
 
         Set<Role> newRoles = new HashSet<>();
         for (String roleName : roleNames) {
-            Role role = roleRepository.findByName(roleName)
+            Role role = roleRegistry.findByName(roleName)
                     .orElseThrow(() -> new RuntimeException("Role not found: " + roleName));
             newRoles.add(role);
         }
 
         user.setRoles(newRoles);
         userRepository.save(user);
+        userDetailsCache.invalidate(userId);
     }
 
     public void updateLastLogin(String username) {
-        userRepository.findByUsername(username).ifPresent(user -> {
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-        });
+        AuthUserDetails userDetails = userDetailsCache.get(username, name ->
+                userRepository.findByUsernameWithRoles(name).map(AuthUserDetails::from).orElse(null));
+        if (userDetails != null) {
+            lastLoginRecorder.record(userDetails.getId(), LocalDateTime.now());
+        }
     }
 
     public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        userRepository.delete(user);
+        if (userRepository.deleteAllByIdIn(List.of(userId)) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        userDetailsCache.invalidate(userId);
     }
 
     public void lockUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setAccountNonLocked(false);
-        userRepository.save(user);
+        LocalDateTime now = LocalDateTime.now();
+        if (userRepository.updateAccountNonLocked(List.of(userId), false, now) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        // A lock only rejects refreshes, so sign the user out of every device here
+        refreshTokenRepository.revokeAllByUserIdIn(List.of(userId), now);
+        userDetailsCache.invalidate(userId);
     }
 
     public void unlockUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setAccountNonLocked(true);
-        userRepository.save(user);
+        // Drop failed attempts and any lock still waiting to be written, or it would re-lock the account
+        loginAttemptService.reset(userId);
+        if (userRepository.updateAccountNonLocked(List.of(userId), true, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        userDetailsCache.invalidate(userId);
     }
 
     public void disableUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setEnabled(false);
-        userRepository.save(user);
+        if (userRepository.updateEnabled(List.of(userId), false, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        userDetailsCache.invalidate(userId);
     }
 
     public void enableUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        user.setEnabled(true);
-        userRepository.save(user);
+        if (userRepository.updateEnabled(List.of(userId), true, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("User not found");
+        }
+        userDetailsCache.invalidate(userId);
     }
 }
@@ -0,0 +1,133 @@
+package com.auth.service.security;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth.security.AuthorizationEvaluator;
+import com.auth.security.PermissionModel;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Encodes roles into issued tokens and decodes them on verification.
+ *
+ * <p>With {@code app.jwt.claims.profile=standard} roles are written as the {@code roles} string
+ * array. With {@code compact} they are written as a role bitmask ({@code rm}) keyed to the bit
+ * indexes of the current {@link PermissionModel}, whose version travels in {@code mv}, and the
+ * issuer is shortened to {@code app.jwt.claims.compact-issuer}. Permissions are not written: they
+ * follow from the roles, and {@link AuthorizationEvaluator} derives them from the current model.
+ * A mask fits in a JSON number while it has at most 53 bits and is a base64url string beyond that. Both profiles are always decoded, so switching profile
+ * never invalidates tokens already issued. Masks are decoded with the model of the token's version,
+ * which stays available for a while after roles or permissions are renamed; a token whose model is
+ * no longer known is rejected so its holder refreshes it.</p>
+ */
+@Component
+public class CompactClaimsCodec {
+
+    public static final String ROLE_MASK_CLAIM = "rm";
+    public static final String MODEL_VERSION_CLAIM = "mv";
+
+    static final String COMPACT_PROFILE = "compact";
+
+    // Largest bit count whose mask is exactly representable as a JSON number in every parser
+    private static final int MAX_NUMERIC_BITS = 53;
+
+    @Value("${app.jwt.claims.profile:standard}")
+    private String profile = "standard";
+
+    @Value("${app.jwt.issuer:auth-server}")
+    private String issuer = "auth-server";
+
+    @Value("${app.jwt.claims.compact-issuer:as}")
+    private String compactIssuer = "as";
+
+    @Autowired(required = false)
+    private AuthorizationEvaluator authorizationEvaluator;
+
+    public boolean isCompact() {
+        return COMPACT_PROFILE.equalsIgnoreCase(profile) && authorizationEvaluator != null;
+    }
+
+    public String getIssuer() {
+        return isCompact() ? compactIssuer : issuer;
+    }
+
+    /**
+     * Adds the role claims for the given role names to the token claims.
+     * Names the model does not know, if any, are kept in the {@code roles} array.
+     */
+    public void putRoles(Map<String, Object> claims, Collection<String> roles) {
+        if (!isCompact()) {
+            claims.put(TokenClaims.ROLES_CLAIM, List.copyOf(roles));
+            return;
+        }
+        PermissionModel model = authorizationEvaluator.getModel();
+        BitSet roleMask = new BitSet();
+        List<String> unknown = new ArrayList<>();
+        for (String role : roles) {
+            int bit = model.roleBit(role);
+            if (bit >= 0) {
+                roleMask.set(bit);
+            } else {
+                unknown.add(role);
+            }
+        }
+        if (!roleMask.isEmpty()) {
+            claims.put(ROLE_MASK_CLAIM, encode(roleMask));
+            claims.put(MODEL_VERSION_CLAIM, model.getVersion());
+        }
+        if (!unknown.isEmpty()) {
+            claims.put(TokenClaims.ROLES_CLAIM, unknown);
+        }
+    }
+
+    /**
+     * Role names of a verified token, from either profile.
+     *
+     * @throws IllegalStateException if the token carries masks of another permission model
+     */
+    public List<String> readRoles(Claims claims) {
+        List<String> roles = new ArrayList<>();
+        if (claims.get(TokenClaims.ROLES_CLAIM) instanceof Collection<?> names) {
+            names.forEach(name -> roles.add(String.valueOf(name)));
+        }
+        Object roleMask = claims.get(ROLE_MASK_CLAIM);
+        if (roleMask != null) {
+            roles.addAll(modelFor(claims).roleNames(decode(roleMask)));
+        }
+        return roles;
+    }
+
+    private PermissionModel modelFor(Claims claims) {
+        Object version = claims.get(MODEL_VERSION_CLAIM);
+        PermissionModel model = authorizationEvaluator != null && version != null
+                ? authorizationEvaluator.getModel(String.valueOf(version)) : null;
+        if (model == null) {
+            throw new IllegalStateException("Token roles were encoded for another permission model");
+        }
+        return model;
+    }
+
+    static Object encode(BitSet mask) {
+        if (mask.length() <= MAX_NUMERIC_BITS) {
+            long[] words = mask.toLongArray();
+            return words.length == 0 ? 0L : words[0];
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mask.toByteArray());
+    }
+
+    static BitSet decode(Object mask) {
+        if (mask instanceof Number number) {
+            return BitSet.valueOf(new long[] {number.longValue()});
+        }
+        return BitSet.valueOf(Base64.getUrlDecoder().decode(String.valueOf(mask)));
+    }
+}
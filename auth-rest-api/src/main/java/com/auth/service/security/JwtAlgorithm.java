@@ -0,0 +1,182 @@
+package com.auth.service.security;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Signing algorithms supported for issued tokens, selected with {@code app.jwt.algorithm}.
+ * Each constant knows how to parse, generate and publish keys of its type.
+ */
+public enum JwtAlgorithm {
+
+    RS256("RSA", Jwts.SIG.RS256, JWSAlgorithm.RS256),
+    ES256("EC", Jwts.SIG.ES256, JWSAlgorithm.ES256),
+    EdDSA("Ed25519", Jwts.SIG.EdDSA, JWSAlgorithm.EdDSA);
+
+    // Raw Ed25519 keys are the trailing 32 bytes of their X.509 / PKCS#8 encodings
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final String keyAlgorithm;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final JWSAlgorithm jwsAlgorithm;
+
+    JwtAlgorithm(String keyAlgorithm, SignatureAlgorithm signatureAlgorithm, JWSAlgorithm jwsAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.jwsAlgorithm = jwsAlgorithm;
+    }
+
+    public static JwtAlgorithm fromName(String name) {
+        for (JwtAlgorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        if ("Ed25519".equalsIgnoreCase(name)) {
+            return EdDSA;
+        }
+        throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + name);
+    }
+
+    /**
+     * Name to pass to {@link KeyFactory#getInstance(String)} for PEM keys of this type.
+     */
+    public String getKeyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    public SignatureAlgorithm getSignatureAlgorithm() {
+        return signatureAlgorithm;
+    }
+
+    /**
+     * Resolves the algorithm matching the type of an already parsed public key.
+     */
+    public static JwtAlgorithm forPublicKey(PublicKey publicKey) {
+        if (publicKey instanceof RSAPublicKey) {
+            return RS256;
+        }
+        if (publicKey instanceof ECPublicKey) {
+            return ES256;
+        }
+        if (publicKey instanceof EdECPublicKey) {
+            return EdDSA;
+        }
+        throw new IllegalArgumentException("Unsupported public key type: " + publicKey.getAlgorithm());
+    }
+
+    /**
+     * Parses an X.509 (SubjectPublicKeyInfo) encoded public key of unknown type.
+     */
+    public static PublicKey parseAnyPublicKey(byte[] encoded) {
+        for (JwtAlgorithm algorithm : values()) {
+            try {
+                return algorithm.parsePublicKey(encoded);
+            } catch (IllegalArgumentException e) {
+                // not this key type, try the next one
+            }
+        }
+        throw new IllegalArgumentException("Public key is not an RSA, EC or Ed25519 key");
+    }
+
+    public PublicKey parsePublicKey(byte[] encoded) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + keyAlgorithm + " public key", e);
+        }
+    }
+
+    public PrivateKey parsePrivateKey(byte[] encoded) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid " + keyAlgorithm + " private key", e);
+        }
+    }
+
+    public KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+            switch (this) {
+                case RS256 -> generator.initialize(2048);
+                case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+                default -> { }
+            }
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to generate " + name() + " key pair", e);
+        }
+    }
+
+    /**
+     * Derives a short, stable key id from the public key so verifiers can select the right key.
+     */
+    public static String keyIdFor(PublicKey publicKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 12));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to derive key id", e);
+        }
+    }
+
+    /**
+     * Builds the JWK representation of the key; the private part is included only when given.
+     */
+    public JWK toJwk(PublicKey publicKey, PrivateKey privateKey, String keyId) {
+        return switch (this) {
+            case RS256 -> {
+                RSAKey.Builder builder = new RSAKey.Builder((RSAPublicKey) publicKey);
+                if (privateKey != null) {
+                    builder.privateKey(privateKey);
+                }
+                yield builder.keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm).build();
+            }
+            case ES256 -> {
+                ECKey.Builder builder = new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey);
+                if (privateKey != null) {
+                    builder.privateKey(privateKey);
+                }
+                yield builder.keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm).build();
+            }
+            case EdDSA -> {
+                OctetKeyPair.Builder builder = new OctetKeyPair.Builder(Curve.Ed25519,
+                        Base64URL.encode(rawEd25519Key(publicKey.getEncoded())));
+                if (privateKey != null) {
+                    builder.d(Base64URL.encode(rawEd25519Key(privateKey.getEncoded())));
+                }
+                yield builder.keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(jwsAlgorithm).build();
+            }
+        };
+    }
+
+    private static byte[] rawEd25519Key(byte[] encoded) {
+        return Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+    }
+}
@@ -0,0 +1,67 @@
+package com.auth.service.security;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/**
+ * A parsed key known to the {@link JwtKeyRegistry}. Only the active key carries a private key;
+ * verification-only keys (additional or retired ones) carry just the public half.
+ */
+public final class JwtKey {
+
+    private final String keyId;
+    private final JwtAlgorithm algorithm;
+    private final PublicKey publicKey;
+    private final PrivateKey privateKey;
+    private final Instant retiredAt;
+
+    JwtKey(String keyId, JwtAlgorithm algorithm, PublicKey publicKey, PrivateKey privateKey, Instant retiredAt) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+        this.retiredAt = retiredAt;
+    }
+
+    /**
+     * Returns a verification-only copy of this key, marked as retired at the given instant.
+     */
+    JwtKey retire(Instant when) {
+        return new JwtKey(keyId, algorithm, publicKey, null, when);
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public JwtAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    public Instant getRetiredAt() {
+        return retiredAt;
+    }
+
+    public boolean isSigningKey() {
+        return privateKey != null;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtKey{" +
+                "keyId='" + keyId + '\'' +
+                ", algorithm=" + algorithm +
+                ", signing=" + isSigningKey() +
+                ", retiredAt=" + retiredAt +
+                '}';
+    }
+}
@@ -0,0 +1,340 @@
+package com.auth.service.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Single source of JWT key material for signing, verification and the published JWK set.
+ *
+ * <p>Keys are parsed once at startup and held in an immutable snapshot indexed by {@code kid}.
+ * When the key files live on the file system they are watched, and a changed key pair is loaded
+ * in the background and swapped in atomically. The previously active key stays available for
+ * verification until every token it could have signed has expired. A key's {@code kid} is derived
+ * from its public key; a configured {@code kid} is only used as a prefix, so rotated keys never
+ * share a kid and every instance loading the same key files publishes the same one.</p>
+ */
+@Component
+public class JwtKeyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRegistry.class);
+
+    // Key files are usually replaced in several writes (private, then public); wait for them to settle
+    private static final long WATCH_QUIET_PERIOD_MILLIS = 500;
+
+    @Value("${app.jwt.algorithm:RS256}")
+    private String algorithmName;
+
+    @Value("${app.jwt.key-id:}")
+    private String configuredKeyId;
+
+    @Value("${app.jwt.private-key-path:${app.jwt.rsa.private-key-path:classpath:keys/private.pem}}")
+    private String privateKeyPath;
+
+    @Value("${app.jwt.public-key-path:${app.jwt.rsa.public-key-path:classpath:keys/public.pem}}")
+    private String publicKeyPath;
+
+    @Value("${app.jwt.additional-public-key-paths:}")
+    private List<String> additionalPublicKeyPaths = new ArrayList<>();
+
+    @Value("${app.jwt.refresh-token-validity:86400}")
+    private long retiredKeyRetentionSeconds;
+
+    @Value("${app.jwt.watch-keys:true}")
+    private boolean watchKeys;
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    private volatile KeySet keySet;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    @PostConstruct
+    void init() {
+        keySet = load(null);
+        log.info("Loaded JWT keys, signing with {} key {}", keySet.signingKey.getAlgorithm(), keySet.signingKey.getKeyId());
+        if (watchKeys) {
+            startWatcher();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Failed to close JWT key watcher: {}", e.getMessage());
+            }
+        }
+        if (watcher != null) {
+            watcher.interrupt();
+        }
+    }
+
+    public JwtKey getSigningKey() {
+        return keySet.signingKey;
+    }
+
+    /**
+     * Returns the public key for the given {@code kid}, or {@code null} if it is unknown or its
+     * retention period has passed. Tokens without a {@code kid} resolve to the active key.
+     */
+    public Key getVerificationKey(String keyId) {
+        KeySet current = keySet;
+        JwtKey key = keyId == null ? current.signingKey : current.keys.get(keyId);
+        if (key == null || isExpired(key, Instant.now())) {
+            return null;
+        }
+        return key.getPublicKey();
+    }
+
+    public Map<String, JwtKey> getKeys() {
+        return keySet.keys;
+    }
+
+    /**
+     * JWK set of every usable key, including the private part of the active signing key.
+     */
+    public JWKSet getJwkSet() {
+        return keySet.jwkSet;
+    }
+
+    /**
+     * Re-reads the key files and swaps in the new key set if it differs from the current one.
+     * A key set that fails to load is ignored and the current keys stay in use.
+     *
+     * @return whether a new key set was activated
+     */
+    public synchronized boolean reload() {
+        KeySet current = keySet;
+        KeySet next;
+        try {
+            next = load(current);
+        } catch (RuntimeException e) {
+            log.error("Failed to reload JWT keys, keeping key {}: {}", current.signingKey.getKeyId(), e.getMessage());
+            return false;
+        }
+        if (next.fingerprint.equals(current.fingerprint)) {
+            return false;
+        }
+        keySet = next;
+
+        Set<String> removed = new HashSet<>(current.keys.keySet());
+        removed.removeAll(next.keys.keySet());
+        log.info("Rotated JWT signing key {} -> {}, verification keys {}",
+                current.signingKey.getKeyId(), next.signingKey.getKeyId(), next.keys.keySet());
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new JwtKeysRotatedEvent(this, next.signingKey.getKeyId(), removed));
+        }
+        return true;
+    }
+
+    private KeySet load(KeySet previous) {
+        JwtAlgorithm algorithm = JwtAlgorithm.fromName(algorithmName);
+        PrivateKey privateKey = algorithm.parsePrivateKey(readPem(privateKeyPath));
+        PublicKey publicKey = algorithm.parsePublicKey(readPem(publicKeyPath));
+        verifyKeyPair(algorithm, privateKey, publicKey);
+
+        String derivedKeyId = JwtAlgorithm.keyIdFor(publicKey);
+        // The kid depends on the key alone, so restarts and other instances agree on it
+        String keyId = configuredKeyId == null || configuredKeyId.isBlank()
+                ? derivedKeyId
+                : configuredKeyId + "-" + derivedKeyId;
+        JwtKey signingKey = new JwtKey(keyId, algorithm, publicKey, privateKey, null);
+
+        Map<String, JwtKey> keys = new LinkedHashMap<>();
+        keys.put(keyId, signingKey);
+        for (String path : additionalPublicKeyPaths) {
+            if (path == null || path.isBlank()) {
+                continue;
+            }
+            PublicKey additional = JwtAlgorithm.parseAnyPublicKey(readPem(path.trim()));
+            String additionalKeyId = JwtAlgorithm.keyIdFor(additional);
+            keys.putIfAbsent(additionalKeyId,
+                    new JwtKey(additionalKeyId, JwtAlgorithm.forPublicKey(additional), additional, null, null));
+        }
+
+        if (previous != null) {
+            Instant now = Instant.now();
+            for (JwtKey key : previous.keys.values()) {
+                if (keys.containsKey(key.getKeyId())) {
+                    continue;
+                }
+                if (key.isSigningKey()) {
+                    keys.put(key.getKeyId(), key.retire(now));
+                } else if (key.getRetiredAt() != null && !isExpired(key, now)) {
+                    keys.put(key.getKeyId(), key);
+                }
+            }
+        }
+
+        Set<String> fingerprint = new TreeSet<>(keys.keySet());
+        fingerprint.add("active:" + keyId + ":" + derivedKeyId);
+        return new KeySet(signingKey, keys, String.join(",", fingerprint));
+    }
+
+    private boolean isExpired(JwtKey key, Instant now) {
+        return key.getRetiredAt() != null
+                && key.getRetiredAt().plusSeconds(retiredKeyRetentionSeconds).isBefore(now);
+    }
+
+    /**
+     * Signs and verifies a probe token so a mismatched pair is rejected before it is activated.
+     * This also warms up the signature providers, so the first real request does not pay for it.
+     */
+    private static void verifyKeyPair(JwtAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        try {
+            String probe = Jwts.builder().subject("key-probe")
+                    .signWith(privateKey, algorithm.getSignatureAlgorithm())
+                    .compact();
+            Jwts.parser().verifyWith(publicKey).build().parseSignedClaims(probe);
+        } catch (Exception e) {
+            throw new IllegalStateException("JWT private and public keys do not form a valid " + algorithm + " key pair", e);
+        }
+    }
+
+    private byte[] readPem(String location) {
+        Resource resource = resolve(location);
+        try (InputStream inputStream = resource.getInputStream()) {
+            String pem = new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII)
+                    .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            return Base64.getDecoder().decode(pem);
+        } catch (IOException e) {
+            throw new IllegalStateException("JWT key not found: " + location, e);
+        }
+    }
+
+    /**
+     * Resolves {@code classpath:} and {@code file:} locations as usual; bare paths are file system paths.
+     */
+    private Resource resolve(String location) {
+        if (location.startsWith("/") || !location.contains(":")) {
+            return new FileSystemResource(location);
+        }
+        return resourceLoader.getResource(location);
+    }
+
+    private void startWatcher() {
+        Set<Path> directories = new LinkedHashSet<>();
+        List<String> locations = new ArrayList<>(additionalPublicKeyPaths);
+        locations.add(privateKeyPath);
+        locations.add(publicKeyPath);
+        for (String location : locations) {
+            if (location == null || location.isBlank()) {
+                continue;
+            }
+            Resource resource = resolve(location.trim());
+            if (resource.isFile()) {
+                try {
+                    directories.add(resource.getFile().toPath().toAbsolutePath().getParent());
+                } catch (IOException e) {
+                    log.debug("Not watching JWT key {}: {}", location, e.getMessage());
+                }
+            }
+        }
+        if (directories.isEmpty()) {
+            log.debug("JWT keys are not on the file system, key rotation requires a restart");
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to watch JWT key directories {}: {}", directories, e.getMessage());
+            return;
+        }
+        watcher = new Thread(this::watchLoop, "jwt-key-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("Watching JWT key directories {} for rotation", directories);
+    }
+
+    private void watchLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                drain(watchService.take());
+                WatchKey next;
+                while ((next = watchService.poll(WATCH_QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(next);
+                }
+                reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // registry is shutting down
+        }
+    }
+
+    private static void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    private static final class KeySet {
+
+        private final JwtKey signingKey;
+        private final Map<String, JwtKey> keys;
+        private final JWKSet jwkSet;
+        private final String fingerprint;
+
+        private KeySet(JwtKey signingKey, Map<String, JwtKey> keys, String fingerprint) {
+            this.signingKey = signingKey;
+            this.keys = Map.copyOf(keys);
+            this.fingerprint = fingerprint;
+            List<JWK> jwks = new ArrayList<>();
+            for (JwtKey key : keys.values()) {
+                jwks.add(key.getAlgorithm().toJwk(key.getPublicKey(), key.getPrivateKey(), key.getKeyId()));
+            }
+            this.jwkSet = new JWKSet(jwks);
+        }
+    }
+}
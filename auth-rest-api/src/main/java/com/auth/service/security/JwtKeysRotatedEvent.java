@@ -0,0 +1,31 @@
+package com.auth.service.security;
+
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by the {@link JwtKeyRegistry} after a new key set has been swapped in.
+ */
+public class JwtKeysRotatedEvent extends ApplicationEvent {
+
+    private final String activeKeyId;
+    private final Set<String> removedKeyIds;
+
+    public JwtKeysRotatedEvent(Object source, String activeKeyId, Set<String> removedKeyIds) {
+        super(source);
+        this.activeKeyId = activeKeyId;
+        this.removedKeyIds = Set.copyOf(removedKeyIds);
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Key ids that can no longer verify tokens, e.g. because a compromised key was pulled.
+     */
+    public Set<String> getRemovedKeyIds() {
+        return removedKeyIds;
+    }
+}
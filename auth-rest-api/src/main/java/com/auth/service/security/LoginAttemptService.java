@@ -0,0 +1,230 @@
+package com.auth.service.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.repository.UserRepository;
+import com.auth.security.UserDetailsCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Counts failed password and MFA attempts per user and locks the account after
+ * {@code app.security.lockout.max-failures} failures within {@code window-seconds}.
+ *
+ * <p>Failures are recorded in memory under one of a fixed set of stripe locks, so concurrent
+ * attempts against different users rarely contend and no attempt touches the database. A user
+ * that crosses the threshold is locked in memory immediately and queued; the queue is written
+ * with a single {@code UPDATE ... WHERE id IN (...)} every {@code flush-interval-millis} and on
+ * shutdown, so an attack against many accounts costs one statement per interval.</p>
+ */
+@Component
+public class LoginAttemptService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginAttemptService.class);
+
+    private static final int STRIPES = 64;
+
+    @Value("${app.security.lockout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.lockout.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${app.security.lockout.window-seconds:900}")
+    private long windowSeconds;
+
+    @Value("${app.security.lockout.flush-interval-millis:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${app.security.lockout.max-tracked-users:100000}")
+    private long maxTrackedUsers;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    LongSupplier clock = System::nanoTime;
+
+    private final Object[] stripes = new Object[STRIPES];
+    // Held while a batch of locks is written and committed, so a reset cannot slip in between
+    private final Object flushLock = new Object();
+    private final Set<Long> locked = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingLocks = ConcurrentHashMap.newKeySet();
+
+    private Cache<Long, long[]> failures;
+    private TransactionTemplate transactionTemplate;
+    private ScheduledExecutorService flusher;
+    private Counter lockouts;
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        failures = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (meterRegistry != null) {
+            lockouts = Counter.builder("login.lockouts")
+                    .description("Accounts locked after repeated failed attempts")
+                    .register(meterRegistry);
+            meterRegistry.gauge("login.lockouts.pending", pendingLocks, Set::size);
+        }
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "login-lockout-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Records a failed password or MFA attempt.
+     *
+     * @return whether this failure locked the account
+     */
+    public boolean recordFailure(Long userId) {
+        if (!enabled || userId == null) {
+            return false;
+        }
+        long now = clock.getAsLong();
+        long windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+        synchronized (stripeFor(userId)) {
+            // Ring of the last maxFailures failure times; slot 0 holds the write position
+            long[] ring = failures.get(userId, id -> new long[maxFailures + 1]);
+            int position = (int) ring[0];
+            ring[1 + position] = now;
+            ring[0] = (position + 1) % maxFailures;
+            long oldest = ring[1 + (int) ring[0]];
+            failures.put(userId, ring);
+            if (oldest == 0 || now - oldest > windowNanos) {
+                return false;
+            }
+            failures.invalidate(userId);
+        }
+        if (locked.add(userId)) {
+            pendingLocks.add(userId);
+            if (lockouts != null) {
+                lockouts.increment();
+            }
+            log.info("Locking user {} after {} failed attempts within {}s", userId, maxFailures, windowSeconds);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Clears the failure history after a successful attempt.
+     */
+    public void recordSuccess(Long userId) {
+        if (enabled && userId != null) {
+            synchronized (stripeFor(userId)) {
+                failures.invalidate(userId);
+            }
+        }
+    }
+
+    /**
+     * Whether the user was locked by this service, including locks not yet written to the database.
+     */
+    public boolean isLocked(Long userId) {
+        return userId != null && locked.contains(userId);
+    }
+
+    /**
+     * Forgets failures and any pending lock, e.g. when an administrator unlocks the account.
+     * Waits for a flush in progress, so a lock it is writing is committed before the caller's unlock
+     * and cannot overwrite it afterwards.
+     */
+    public void reset(Long userId) {
+        synchronized (stripeFor(userId)) {
+            failures.invalidate(userId);
+        }
+        synchronized (flushLock) {
+            pendingLocks.remove(userId);
+            locked.remove(userId);
+        }
+    }
+
+    /**
+     * Writes pending locks to the database in one statement.
+     *
+     * @return the number of users locked
+     */
+    public int flush() {
+        if (pendingLocks.isEmpty()) {
+            return 0;
+        }
+        synchronized (flushLock) {
+            List<Long> batch = new ArrayList<>(pendingLocks);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            Integer updated = transactionTemplate.execute(status -> {
+                int count = userRepository.updateAccountNonLocked(batch, false, LocalDateTime.now());
+                userDetailsCache.invalidateAll(batch);
+                return count;
+            });
+            // Only forget what was written; locks queued meanwhile stay for the next flush
+            pendingLocks.removeAll(batch);
+            // The database is now authoritative for these users
+            locked.removeAll(batch);
+            log.debug("Wrote {} account locks", updated);
+            return updated == null ? 0 : updated;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write account locks, retrying next interval: {}", e.getMessage());
+        }
+    }
+
+    private Object stripeFor(Long userId) {
+        return stripes[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+}
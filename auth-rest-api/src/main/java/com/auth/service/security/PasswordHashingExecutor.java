@@ -0,0 +1,167 @@
+package com.auth.service.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the available cores instead of on request threads.
+ *
+ * <p>The work queue is bounded. When it is full the task is rejected immediately with a
+ * {@link PasswordHashingRejectedException}, so a burst of logins or registrations sheds load
+ * instead of tying up every servlet thread behind a CPU-bound hash.</p>
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    static final String METRIC_PREFIX = "password.hashing";
+
+    @Value("${app.password.hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.password.hashing.timeout-seconds:10}")
+    private long timeoutSeconds;
+
+    @Value("${app.password.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer waitTimer;
+    private Timer hashTimer;
+    private Timer verifyTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+        log.info("Password hashing executor started with {} threads and a queue of {}", poolSize, queueCapacity);
+
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size())
+                    .description("Password hashing tasks waiting for a thread")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Password hashing tasks currently running")
+                    .register(meterRegistry);
+            waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                    .description("Time a password hashing task spent queued")
+                    .register(meterRegistry);
+            hashTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                    .description("CPU time spent hashing or verifying a password")
+                    .tag("operation", "hash")
+                    .register(meterRegistry);
+            verifyTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                    .description("CPU time spent hashing or verifying a password")
+                    .tag("operation", "verify")
+                    .register(meterRegistry);
+            rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                    .description("Password hashing tasks rejected because the queue was full")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public String hash(Callable<String> task) {
+        return submit(task, hashTimer);
+    }
+
+    public boolean verify(Callable<Boolean> task) {
+        return submit(task, verifyTimer);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T submit(Callable<T> task, Timer durationTimer) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                if (waitTimer != null) {
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    return task.call();
+                } finally {
+                    if (durationTimer != null) {
+                        durationTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new PasswordHashingRejectedException("Password hashing capacity exceeded", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new PasswordHashingRejectedException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
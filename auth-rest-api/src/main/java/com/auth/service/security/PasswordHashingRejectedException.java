@@ -0,0 +1,19 @@
+package com.auth.service.security;
+
+/**
+ * Thrown when the password hashing executor is saturated and cannot take more work.
+ * Surfaced to clients as {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
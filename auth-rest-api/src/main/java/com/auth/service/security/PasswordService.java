@@ -1,58 +1,142 @@
 package com.auth.service.security;
 
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.auth.service.security.hash.Argon2PasswordHasher;
+import com.auth.service.security.hash.BCryptPasswordHasher;
+import com.auth.service.security.hash.PasswordHashCalibrator;
+import com.auth.service.security.hash.PasswordHasher;
+import com.auth.service.security.hash.Pbkdf2PasswordHasher;
 
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class PasswordService {
 
+    private static final Logger log = LoggerFactory.getLogger(PasswordService.class);
+
     @Value("${app.password.hash.algorithm:bcrypt}")
     private String hashAlgorithm;
 
-    public String hashPassword(String plainPassword) {
-        return hashWithBcrypt(plainPassword);
-    }
+    // 0 keeps the algorithm's default work factor
+    @Value("${app.password.hash.cost:0}")
+    private int hashCost;
 
-    public boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return verifyWithBcrypt(plainPassword, hashedPassword);
+    @Value("${app.password.hash.calibrate:false}")
+    private boolean calibrate;
+
+    @Value("${app.password.hash.target-millis:250}")
+    private long targetMillis;
+
+    @Value("${app.password.hash.argon2.memory-kb:19456}")
+    private int argon2MemoryKb;
+
+    @Value("${app.password.hash.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
+    @Autowired
+    private PasswordStrengthEvaluator strengthEvaluator;
+
+    // Hasher for new hashes, and one per algorithm for verifying hashes that already exist
+    private PasswordHasher hasher;
+    private List<PasswordHasher> verifiers;
+
+    @PostConstruct
+    void init() {
+        verifiers = List.of(
+                new BCryptPasswordHasher(BCryptPasswordHasher.DEFAULT_COST),
+                new Pbkdf2PasswordHasher(Pbkdf2PasswordHasher.DEFAULT_COST),
+                new Argon2PasswordHasher(Argon2PasswordHasher.DEFAULT_COST, argon2MemoryKb, argon2Parallelism));
+
+        PasswordHasher configured = verifiers.stream()
+                .filter(candidate -> candidate.getAlgorithm().equalsIgnoreCase(hashAlgorithm))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported password hash algorithm: " + hashAlgorithm));
+        if (calibrate) {
+            hasher = PasswordHashCalibrator.calibrate(configured, Duration.ofMillis(targetMillis));
+            log.info("Calibrated {} password hashing to cost {} for a {}ms target",
+                    hasher.getAlgorithm(), hasher.getCost(), targetMillis);
+        } else {
+            hasher = hashCost > 0 ? configured.withCost(hashCost) : configured;
+            log.info("Using {} password hashing with cost {}", hasher.getAlgorithm(), hasher.getCost());
+        }
     }
 
-    private String hashWithBcrypt(String plainPassword) {
-        return org.springframework.security.crypto.bcrypt.BCrypt.hashpw(plainPassword, org.springframework.security.crypto.bcrypt.BCrypt.gensalt(12));
+    public PasswordHasher getHasher() {
+        return hasher;
     }
 
-    private boolean verifyWithBcrypt(String plainPassword, String hashedPassword) {
-        return org.springframework.security.crypto.bcrypt.BCrypt.checkpw(plainPassword, hashedPassword);
+    /**
+     * Hashes the password with the configured algorithm on the bounded hashing pool.
+     *
+     * @throws PasswordHashingRejectedException if the pool is saturated
+     */
+    public String hashPassword(String plainPassword) {
+        PasswordHasher current = hasher;
+        return hashingExecutor.hash(() -> current.hash(plainPassword));
     }
 
-    public boolean isPasswordStrong(String password) {
-        // Check minimum length
-        if (password.length() < 8) {
+    /**
+     * Verifies the password against a hash made by any supported algorithm, on the bounded hashing pool.
+     *
+     * @throws PasswordHashingRejectedException if the pool is saturated
+     */
+    public boolean verifyPassword(String plainPassword, String hashedPassword) {
+        PasswordHasher verifier = verifierFor(hashedPassword);
+        if (verifier == null) {
+            log.warn("Password hash in an unrecognized format");
             return false;
         }
+        return hashingExecutor.verify(() -> verifier.matches(plainPassword, hashedPassword));
+    }
 
-        // Check for at least one uppercase letter
-        if (!password.matches(".*[A-Z].*")) {
-            return false;
-        }
+    /**
+     * Whether the stored hash uses another algorithm or weaker parameters than the current policy,
+     * and should be replaced the next time the plain password is known.
+     */
+    public boolean needsRehash(String hashedPassword) {
+        return !hasher.supports(hashedPassword) || hasher.isWeakerThanPolicy(hashedPassword);
+    }
 
-        // Check for at least one lowercase letter
-        if (!password.matches(".*[a-z].*")) {
-            return false;
+    private PasswordHasher verifierFor(String hashedPassword) {
+        if (hasher.supports(hashedPassword)) {
+            return hasher;
         }
-
-        // Check for at least one digit
-        if (!password.matches(".*\\d.*")) {
-            return false;
+        for (PasswordHasher verifier : verifiers) {
+            if (verifier.supports(hashedPassword)) {
+                return verifier;
+            }
         }
+        return null;
+    }
 
-        // Check for at least one special character
-        if (!password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*")) {
-            return false;
-        }
+    public PasswordStrength evaluateStrength(String password) {
+        return strengthEvaluator.evaluate(password);
+    }
 
-        return true;
+    public boolean isPasswordStrong(String password) {
+        return strengthEvaluator.evaluate(password).isAcceptable();
+    }
+
+    /**
+     * Rejects passwords that break the composition rules or appear in the breached password index.
+     *
+     * @throws RuntimeException listing every rule the password breaks
+     */
+    public void validatePasswordStrength(String password) {
+        PasswordStrength strength = strengthEvaluator.evaluate(password);
+        if (!strength.isAcceptable()) {
+            throw new RuntimeException(String.join("; ", strength.getViolations()));
+        }
     }
 }
@@ -0,0 +1,41 @@
+package com.auth.service.security;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link PasswordStrengthEvaluator#evaluate(String)}: the rules the password broke,
+ * in a form that can be shown to the user.
+ */
+public final class PasswordStrength {
+
+    private final List<String> violations;
+    private final boolean breached;
+
+    PasswordStrength(List<String> violations, boolean breached) {
+        this.violations = List.copyOf(violations);
+        this.breached = breached;
+    }
+
+    public boolean isAcceptable() {
+        return violations.isEmpty();
+    }
+
+    /**
+     * Whether the password appears in the breached password index.
+     */
+    public boolean isBreached() {
+        return breached;
+    }
+
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return "PasswordStrength{" +
+                "violations=" + violations +
+                ", breached=" + breached +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+package com.auth.service.security;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth.service.security.breach.BreachedPasswordIndex;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Checks a candidate password against the composition rules in a single pass over its characters,
+ * then against the local breached password index when one is configured.
+ */
+@Component
+public class PasswordStrengthEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordStrengthEvaluator.class);
+
+    static final int MIN_LENGTH = 8;
+
+    // The ASCII punctuation the registration rules have always accepted as special characters
+    private static final String SPECIAL_CHARACTERS = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+
+    @Value("${app.password.breach.index-path:}")
+    private String breachIndexPath;
+
+    private BreachedPasswordIndex breachIndex;
+
+    @PostConstruct
+    void init() {
+        if (breachIndexPath == null || breachIndexPath.isBlank()) {
+            log.info("No breached password index configured, only composition rules are checked");
+            return;
+        }
+        try {
+            breachIndex = BreachedPasswordIndex.open(Path.of(breachIndexPath));
+            log.info("Opened breached password index {} with {} entries", breachIndexPath, breachIndex.size());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open breached password index " + breachIndexPath, e);
+        }
+    }
+
+    public PasswordStrength evaluate(String password) {
+        if (password == null) {
+            return new PasswordStrength(List.of("Password is required"), false);
+        }
+
+        boolean upper = false;
+        boolean lower = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                special = true;
+            }
+        }
+
+        List<String> violations = new ArrayList<>(2);
+        if (password.length() < MIN_LENGTH) {
+            violations.add("Password must be at least " + MIN_LENGTH + " characters long");
+        }
+        if (!upper) {
+            violations.add("Password must contain an uppercase letter");
+        }
+        if (!lower) {
+            violations.add("Password must contain a lowercase letter");
+        }
+        if (!digit) {
+            violations.add("Password must contain a digit");
+        }
+        if (!special) {
+            violations.add("Password must contain a special character");
+        }
+
+        boolean breached = breachIndex != null && breachIndex.contains(password);
+        if (breached) {
+            violations.add("Password has appeared in a data breach, please choose another one");
+        }
+        return new PasswordStrength(violations, breached);
+    }
+}
@@ -0,0 +1,92 @@
+package com.auth.service.security;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable view of the claims of a token whose signature has already been verified.
+ * Instances are safe to share between threads and to cache.
+ */
+public final class TokenClaims {
+
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final String subject;
+    private final Long userId;
+    private final List<String> roles;
+    private final Instant expiration;
+    private final Instant issuedAt;
+    private final String issuer;
+
+    public TokenClaims(String subject, Long userId, List<String> roles, Instant expiration, Instant issuedAt,
+                       String issuer) {
+        this.subject = subject;
+        this.userId = userId;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+        this.expiration = expiration;
+        this.issuedAt = issuedAt;
+        this.issuer = issuer;
+    }
+
+    /**
+     * @param roles role names decoded by {@link CompactClaimsCodec}, which understands every claims profile
+     */
+    static TokenClaims from(Claims claims, List<String> roles) {
+        return new TokenClaims(
+                claims.getSubject(),
+                readUserId(claims.get(USER_ID_CLAIM)),
+                roles,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getIssuer());
+    }
+
+    private static Long readUserId(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Database id of the user, or {@code null} for tokens issued before the claim was added.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public String getIssuer() {
+        return issuer;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && !expiration.isAfter(Instant.now());
+    }
+
+    @Override
+    public String toString() {
+        return "TokenClaims{" +
+                "subject='" + subject + '\'' +
+                ", userId=" + userId +
+                ", roles=" + roles +
+                ", expiration=" + expiration +
+                ", issuer='" + issuer + '\'' +
+                '}';
+    }
+}
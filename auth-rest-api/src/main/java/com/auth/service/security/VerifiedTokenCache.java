@@ -0,0 +1,130 @@
+package com.auth.service.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Size-bounded cache of tokens whose signature has already been verified.
+ * Entries are keyed by the SHA-256 digest of the compact JWT, so the raw token is never retained,
+ * and each entry expires no later than the token's own {@code exp} claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    @Value("${app.jwt.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.jwt.cache.max-size:100000}")
+    private long maxSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<ByteBuffer, TokenClaims> cache;
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ByteBuffer, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(ByteBuffer key, TokenClaims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ByteBuffer key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(ByteBuffer key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached claims for the token, or runs the verifier and caches its result.
+     * Verification failures propagate and are never cached.
+     */
+    public TokenClaims get(String token, Function<String, TokenClaims> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+        ByteBuffer key = digest(token);
+        TokenClaims claims = cache.getIfPresent(key);
+        if (claims == null || claims.isExpired()) {
+            claims = verifier.apply(token);
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    @EventListener
+    public void onKeysRotated(JwtKeysRotatedEvent event) {
+        // Tokens signed by a withdrawn key must stop verifying immediately
+        if (!event.getRemovedKeyIds().isEmpty()) {
+            invalidateAll();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static long remainingNanos(TokenClaims claims) {
+        if (claims.getExpiration() == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(Instant.now(), claims.getExpiration()).toNanos());
+    }
+}
@@ -0,0 +1,114 @@
+package com.auth.service.security.breach;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Read-only, memory-mapped set of breached password hashes.
+ *
+ * <p>The file holds an 8 byte header followed by the first 8 bytes of the SHA-1 of each breached
+ * password, as big-endian longs sorted in unsigned order (see {@link BreachedPasswordIndexBuilder}).
+ * A lookup hashes the candidate and binary searches the mapping, so it touches about log2(n)
+ * pages, allocates nothing on the heap and never leaves the machine. Instances are thread-safe.</p>
+ */
+public final class BreachedPasswordIndex {
+
+    static final int MAGIC = 0x42504958; // "BPIX"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_SIZE = Long.BYTES;
+
+    // Records per mapped segment; a single mapping cannot exceed 2 GB
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private static final ThreadLocal<MessageDigest> SHA_1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    });
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private BreachedPasswordIndex(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    public static BreachedPasswordIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (length < HEADER_SIZE || channel.read(header, 0) != HEADER_SIZE
+                    || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a breached password index: " + file);
+            }
+            if ((length - HEADER_SIZE) % RECORD_SIZE != 0) {
+                throw new IOException("Truncated breached password index: " + file);
+            }
+
+            long size = (length - HEADER_SIZE) / RECORD_SIZE;
+            int segmentCount = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long firstRecord = (long) i << SEGMENT_SHIFT;
+                long records = Math.min(size - firstRecord, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + firstRecord * RECORD_SIZE, records * RECORD_SIZE);
+            }
+            // The mappings stay valid after the channel is closed
+            return new BreachedPasswordIndex(segments, size);
+        }
+    }
+
+    /**
+     * Number of hash prefixes in the index.
+     */
+    public long size() {
+        return size;
+    }
+
+    public boolean contains(String password) {
+        return containsPrefix(prefixOf(password));
+    }
+
+    boolean containsPrefix(long prefix) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(recordAt(mid), prefix);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long recordAt(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) ((index & SEGMENT_MASK) * RECORD_SIZE));
+    }
+
+    /**
+     * First 8 bytes of the SHA-1 of the UTF-8 password, the same hash breach corpora are published in.
+     */
+    static long prefixOf(String password) {
+        MessageDigest digest = SHA_1.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(password.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+}
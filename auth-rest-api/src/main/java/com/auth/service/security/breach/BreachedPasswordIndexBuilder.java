@@ -0,0 +1,93 @@
+package com.auth.service.security.breach;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Builds a {@link BreachedPasswordIndex} file from a plain text dump of SHA-1 password hashes.
+ *
+ * <p>Each input line holds a hex SHA-1, optionally followed by {@code :count} as in the Have I Been
+ * Pwned downloads. The input must be sorted by hash (those downloads already are; otherwise run it
+ * through {@code sort -u} first), which lets the index be written in a single streaming pass with
+ * constant memory. Duplicate prefixes are written once.</p>
+ *
+ * <pre>java -cp target/classes com.auth.service.security.breach.BreachedPasswordIndexBuilder pwned-passwords-sha1.txt breached-passwords.idx</pre>
+ */
+public final class BreachedPasswordIndexBuilder {
+
+    private static final int PREFIX_HEX_LENGTH = 16;
+
+    private BreachedPasswordIndexBuilder() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BreachedPasswordIndexBuilder <sha1-dump.txt> <index-file>");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        long start = System.nanoTime();
+        long written;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+             OutputStream out = Files.newOutputStream(output)) {
+            written = build(reader, out);
+        }
+        System.out.printf("Wrote %d hash prefixes to %s in %d ms%n",
+                written, output, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Streams the sorted hash dump into the index format.
+     *
+     * @return the number of prefixes written
+     * @throws IllegalArgumentException if a line is not a hex hash or the input is not sorted
+     */
+    public static long build(BufferedReader reader, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, 1 << 16));
+        out.writeInt(BreachedPasswordIndex.MAGIC);
+        out.writeInt(BreachedPasswordIndex.VERSION);
+
+        long written = 0;
+        long previous = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String hash = line.strip();
+            if (hash.isEmpty() || hash.startsWith("#")) {
+                continue;
+            }
+            if (hash.length() < PREFIX_HEX_LENGTH) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is not a SHA-1 hash: " + line);
+            }
+            long prefix;
+            try {
+                prefix = Long.parseUnsignedLong(hash.substring(0, PREFIX_HEX_LENGTH), 16);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is not a SHA-1 hash: " + line, e);
+            }
+
+            if (written > 0) {
+                int comparison = Long.compareUnsigned(prefix, previous);
+                if (comparison == 0) {
+                    continue;
+                }
+                if (comparison < 0) {
+                    throw new IllegalArgumentException("Input is not sorted at line " + lineNumber
+                            + "; sort it by hash first (e.g. sort -u)");
+                }
+            }
+            out.writeLong(prefix);
+            previous = prefix;
+            written++;
+        }
+        out.flush();
+        return written;
+    }
+}
@@ -0,0 +1,78 @@
+package com.auth.service.security.hash;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Argon2id in the standard PHC string format. The cost is the iteration count; memory and
+ * parallelism are fixed by configuration.
+ */
+public class Argon2PasswordHasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "argon2";
+
+    public static final int DEFAULT_COST = 2;
+    private static final int MINIMUM_COST = 2;
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    private final int iterations;
+    private final int memoryKb;
+    private final int parallelism;
+    private final Argon2PasswordEncoder encoder;
+
+    public Argon2PasswordHasher(int iterations, int memoryKb, int parallelism) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Argon2 iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+        this.memoryKb = memoryKb;
+        this.parallelism = parallelism;
+        this.encoder = new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKb, iterations);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public int getCost() {
+        return iterations;
+    }
+
+    @Override
+    public int getMinimumCost() {
+        return MINIMUM_COST;
+    }
+
+    @Override
+    public boolean isLogarithmicCost() {
+        return false;
+    }
+
+    @Override
+    public PasswordHasher withCost(int cost) {
+        return new Argon2PasswordHasher(cost, memoryKb, parallelism);
+    }
+
+    @Override
+    public String hash(String password) {
+        return encoder.encode(password);
+    }
+
+    @Override
+    public boolean matches(String password, String encodedHash) {
+        return encoder.matches(password, encodedHash);
+    }
+
+    @Override
+    public boolean supports(String encodedHash) {
+        return encodedHash != null && encodedHash.startsWith("$argon2");
+    }
+
+    @Override
+    public boolean isWeakerThanPolicy(String encodedHash) {
+        return encoder.upgradeEncoding(encodedHash);
+    }
+}
@@ -0,0 +1,68 @@
+package com.auth.service.security.hash;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class BCryptPasswordHasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "bcrypt";
+
+    public static final int DEFAULT_COST = 12;
+    private static final int MINIMUM_COST = 10;
+    private static final int MAXIMUM_COST = 31;
+
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+
+    public BCryptPasswordHasher(int cost) {
+        if (cost < 4 || cost > MAXIMUM_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31: " + cost);
+        }
+        this.cost = cost;
+        this.encoder = new BCryptPasswordEncoder(cost);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public int getMinimumCost() {
+        return MINIMUM_COST;
+    }
+
+    @Override
+    public boolean isLogarithmicCost() {
+        return true;
+    }
+
+    @Override
+    public PasswordHasher withCost(int cost) {
+        return new BCryptPasswordHasher(Math.min(cost, MAXIMUM_COST));
+    }
+
+    @Override
+    public String hash(String password) {
+        return encoder.encode(password);
+    }
+
+    @Override
+    public boolean matches(String password, String encodedHash) {
+        return encoder.matches(password, encodedHash);
+    }
+
+    @Override
+    public boolean supports(String encodedHash) {
+        return encodedHash != null && encodedHash.matches("\\$2[aby]?\\$\\d\\d\\$.{53}");
+    }
+
+    @Override
+    public boolean isWeakerThanPolicy(String encodedHash) {
+        return encoder.upgradeEncoding(encodedHash);
+    }
+}
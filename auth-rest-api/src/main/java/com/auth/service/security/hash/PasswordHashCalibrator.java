@@ -0,0 +1,47 @@
+package com.auth.service.security.hash;
+
+import java.time.Duration;
+
+/**
+ * Picks the work factor whose hashing time on this machine comes closest to a target latency
+ * without exceeding it, never going below the algorithm's minimum.
+ */
+public final class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd!";
+    private static final int SAMPLES = 3;
+
+    private PasswordHashCalibrator() {}
+
+    public static PasswordHasher calibrate(PasswordHasher hasher, Duration target) {
+        long targetNanos = target.toNanos();
+        PasswordHasher candidate = hasher.withCost(hasher.getMinimumCost());
+        long elapsed = measure(candidate);
+
+        if (hasher.isLogarithmicCost()) {
+            // Every step doubles the work, so stop before the next step would overshoot
+            while (elapsed * 2 <= targetNanos) {
+                candidate = candidate.withCost(candidate.getCost() + 1);
+                elapsed = measure(candidate);
+            }
+            return candidate;
+        }
+
+        long scaled = Math.round((double) candidate.getCost() * targetNanos / Math.max(elapsed, 1));
+        int cost = (int) Math.max(hasher.getMinimumCost(), Math.min(scaled, Integer.MAX_VALUE));
+        return candidate.withCost(cost);
+    }
+
+    /**
+     * Best of a few runs, so a single GC pause or JIT compilation does not skew the result.
+     */
+    static long measure(PasswordHasher hasher) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            hasher.hash(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,47 @@
+package com.auth.service.security.hash;
+
+/**
+ * A password hashing algorithm at a given work factor.
+ *
+ * <p>Encoded hashes are self-describing, so a hasher can tell whether it produced a hash and
+ * whether that hash was made with weaker parameters than its own.</p>
+ */
+public interface PasswordHasher {
+
+    /**
+     * Name used in {@code app.password.hash.algorithm}.
+     */
+    String getAlgorithm();
+
+    /**
+     * The work factor: log2 rounds for BCrypt, iterations for PBKDF2 and Argon2.
+     */
+    int getCost();
+
+    /**
+     * Lowest work factor this service accepts for the algorithm, regardless of calibration.
+     */
+    int getMinimumCost();
+
+    /**
+     * Whether each cost step doubles the work (BCrypt) rather than adding to it linearly.
+     */
+    boolean isLogarithmicCost();
+
+    PasswordHasher withCost(int cost);
+
+    String hash(String password);
+
+    boolean matches(String password, String encodedHash);
+
+    /**
+     * Whether the encoded hash was produced by this algorithm.
+     */
+    boolean supports(String encodedHash);
+
+    /**
+     * Whether a hash produced by this algorithm used weaker parameters than this hasher.
+     * Stronger hashes are left alone, so nodes calibrated to different costs do not undo each other.
+     */
+    boolean isWeakerThanPolicy(String encodedHash);
+}
@@ -0,0 +1,116 @@
+package com.auth.service.security.hash;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2-HMAC-SHA256, encoded as {@code $pbkdf2-sha256$<iterations>$<salt>$<hash>} so the
+ * iteration count travels with the hash.
+ */
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+
+    public static final String ALGORITHM = "pbkdf2";
+
+    public static final int DEFAULT_COST = 310_000;
+    private static final int MINIMUM_COST = 100_000;
+
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String KEY_ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("PBKDF2 iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    @Override
+    public int getCost() {
+        return iterations;
+    }
+
+    @Override
+    public int getMinimumCost() {
+        return MINIMUM_COST;
+    }
+
+    @Override
+    public boolean isLogarithmicCost() {
+        return false;
+    }
+
+    @Override
+    public PasswordHasher withCost(int cost) {
+        return new Pbkdf2PasswordHasher(cost);
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(derive(password, salt, iterations, HASH_LENGTH));
+    }
+
+    @Override
+    public boolean matches(String password, String encodedHash) {
+        String[] parts = split(encodedHash);
+        if (parts == null) {
+            return false;
+        }
+        byte[] salt = Base64.getDecoder().decode(parts[1]);
+        byte[] expected = Base64.getDecoder().decode(parts[2]);
+        byte[] actual = derive(password, salt, Integer.parseInt(parts[0]), expected.length);
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    @Override
+    public boolean supports(String encodedHash) {
+        return split(encodedHash) != null;
+    }
+
+    @Override
+    public boolean isWeakerThanPolicy(String encodedHash) {
+        String[] parts = split(encodedHash);
+        return parts != null && Integer.parseInt(parts[0]) < iterations;
+    }
+
+    private static String[] split(String encodedHash) {
+        if (encodedHash == null || !encodedHash.startsWith(PREFIX)) {
+            return null;
+        }
+        String[] parts = encodedHash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3 || !parts[0].matches("\\d{1,9}")) {
+            return null;
+        }
+        return parts;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int length) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(KEY_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("PBKDF2 not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
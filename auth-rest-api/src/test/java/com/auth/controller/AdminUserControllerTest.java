@@ -0,0 +1,73 @@
+package com.auth.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.auth.repository.UserFilter;
+import com.auth.service.AdminUserService;
+import com.auth.service.UserExportFormat;
+
+@ExtendWith(MockitoExtension.class)
+class AdminUserControllerTest {
+
+    @Mock
+    private AdminUserService adminUserService;
+
+    @InjectMocks
+    private AdminUserController adminUserController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(adminUserController, "exportTimeoutMillis", 600_000L);
+        mockMvc = MockMvcBuilders.standaloneSetup(adminUserController)
+                .setAsyncRequestTimeout(30_000L)
+                .build();
+    }
+
+    @Test
+    void exportUsers_StreamsWithItsOwnTimeout() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,username\n1,alice\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(adminUserService).exportUsers(any(UserFilter.class), eq(UserExportFormat.CSV), any(OutputStream.class));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertEquals(600_000L, started.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,username\n1,alice\n"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.auth.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.service.security.JwtAlgorithm;
+import com.auth.service.security.JwtKeyRegistry;
+import com.auth.service.security.JwtKeysRotatedEvent;
+import com.nimbusds.jose.jwk.JWKSet;
+
+@ExtendWith(MockitoExtension.class)
+class JwksControllerTest {
+
+    @Mock
+    private JwtKeyRegistry keyRegistry;
+
+    @InjectMocks
+    private JwksController jwksController;
+
+    @BeforeEach
+    void setUp() {
+        when(keyRegistry.getJwkSet()).thenReturn(jwkSet("key-1"));
+        ReflectionTestUtils.setField(jwksController, "maxAgeSeconds", 300L);
+        jwksController.init();
+    }
+
+    @Test
+    void getJwks_ReturnsPublicKeysWithCacheHeaders() {
+        // Act
+        ResponseEntity<byte[]> response = jwksController.getJwks(null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"kid\":\"key-1\""));
+        assertFalse(body.contains("\"d\""));
+        assertTrue(response.getHeaders().getETag().startsWith("\""));
+        assertEquals("max-age=300, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void getJwks_RepeatedRequests_ServeSameBytes() {
+        // Act
+        byte[] first = jwksController.getJwks(null).getBody();
+        byte[] second = jwksController.getJwks(null).getBody();
+
+        // Assert
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void getJwks_MatchingIfNoneMatch_ReturnsNotModified() {
+        // Arrange
+        String etag = jwksController.getJwks(null).getHeaders().getETag();
+
+        // Act
+        ResponseEntity<byte[]> response = jwksController.getJwks("\"stale\", " + etag);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void onKeysRotated_RegeneratesDocumentAndEtag() {
+        // Arrange
+        String oldEtag = jwksController.getJwks(null).getHeaders().getETag();
+        when(keyRegistry.getJwkSet()).thenReturn(jwkSet("key-2"));
+
+        // Act
+        jwksController.onKeysRotated(new JwtKeysRotatedEvent(keyRegistry, "key-2", Set.of()));
+        ResponseEntity<byte[]> response = jwksController.getJwks(oldEtag);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(oldEtag, response.getHeaders().getETag());
+        assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("\"kid\":\"key-2\""));
+    }
+
+    private static JWKSet jwkSet(String keyId) {
+        KeyPair keyPair = JwtAlgorithm.RS256.generateKeyPair();
+        return new JWKSet(JwtAlgorithm.RS256.toJwk(keyPair.getPublic(), keyPair.getPrivate(), keyId));
+    }
+}
@@ -44,7 +44,7 @@ class UserControllerTest {
         UserRegistrationRequest request = new UserRegistrationRequest();
         request.setUsername("testuser");
         request.setEmail("test@example.com");
-        request.setPassword("password123");
+        request.setPassword("Password123!");
         request.setFirstName("Test");
         request.setLastName("User");
 
@@ -0,0 +1,125 @@
+package com.auth.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.auth.entity.RefreshToken;
+import com.auth.entity.User;
+
+/**
+ * Checks that sequence ids let Hibernate send inserts in JDBC batches: N inserts cost about N / batch size
+ * round trips, plus one sequence call per 50 ids.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.id.optimizer.pooled.preferred=pooled-lo",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + BatchInsertTest.BATCH_SIZE,
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+class BatchInsertTest {
+
+    static final int BATCH_SIZE = 50;
+
+    private static final int TOKENS = 200;
+
+    private static final AtomicInteger batches = new AtomicInteger();
+    private static final AtomicInteger singleUpdates = new AtomicInteger();
+    private static final AtomicInteger queries = new AtomicInteger();
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? counting(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(new User("testuser", "test@example.com", "hashedPassword"));
+        entityManager.flush();
+        batches.set(0);
+        singleUpdates.set(0);
+        queries.set(0);
+    }
+
+    @Test
+    void persist_ManyRefreshTokens_InsertsInBatches() {
+        // Arrange
+        LocalDateTime expiresAt = LocalDateTime.now().plusDays(1);
+
+        // Act
+        for (int i = 0; i < TOKENS; i++) {
+            entityManager.persist(new RefreshToken("token-" + i, user, "auth-rest-api", expiresAt));
+        }
+        entityManager.flush();
+
+        // Assert
+        assertEquals(TOKENS / BATCH_SIZE, batches.get());
+        assertEquals(0, singleUpdates.get());
+        // One nextval per block of 50 ids, plus at most one left over from the user's block
+        assertTrue(queries.get() <= TOKENS / 50 + 1, "sequence calls: " + queries.get());
+    }
+
+    /**
+     * Wraps JDBC objects so executions are counted; statements prepared from a connection are wrapped in turn.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T counting(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeBatch" -> batches.incrementAndGet();
+                case "executeUpdate" -> singleUpdates.incrementAndGet();
+                case "executeQuery" -> queries.incrementAndGet();
+                default -> { }
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Connection connection) {
+                return counting(connection, Connection.class);
+            }
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return counting(statement, PreparedStatement.class);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(BatchInsertTest.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
@@ -0,0 +1,126 @@
+package com.auth.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.auth.config.SecondLevelCacheEndpoint;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that repeated user and role lookups are answered by the second-level cache without statements.
+ * Runs without a test transaction, so every repository call commits and its cache entries become visible.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-l2-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SecondLevelCacheEndpoint.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheEndpoint endpoint;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.save(new Role("ROLE_USER"));
+        User user = new User("testuser", "test@example.com", "hashedPassword");
+        user.addRole(role);
+        userRepository.save(user);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void findByUsername_Repeated_ServedFromNaturalIdAndEntityCache() {
+        // Arrange
+        userRepository.findByUsername("testuser").orElseThrow();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        // Act
+        User user = userRepository.findByUsername("testuser").orElseThrow();
+
+        // Assert
+        assertEquals("ROLE_USER", user.getRoles().iterator().next().getName());
+        assertEquals(statementsAfterFirst, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void existsByEmailAndFindRoleByName_Repeated_ServedFromQueryCache() {
+        // Arrange
+        userRepository.existsByEmail("test@example.com");
+        roleRepository.findByName("ROLE_USER");
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        // Act
+        boolean exists = userRepository.existsByEmail("test@example.com");
+        Role role = roleRepository.findByName("ROLE_USER").orElseThrow();
+
+        // Assert
+        assertTrue(exists);
+        assertEquals("ROLE_USER", role.getName());
+        assertEquals(statementsAfterFirst, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void endpoint_ReportsPerRegionStatistics() {
+        // Arrange
+        userRepository.findByUsername("testuser");
+        userRepository.findByUsername("testuser");
+
+        // Act
+        Map<String, Object> result = endpoint.regions();
+
+        // Assert
+        assertEquals(true, result.get("enabled"));
+        Map<String, Map<String, Long>> regions = (Map<String, Map<String, Long>>) result.get("regions");
+        assertTrue(regions.get("users").get("hits") > 0);
+        assertTrue(regions.containsKey("roles"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.auth.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.auth.dto.UserResponse;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("testuser", "test@example.com", "hashedPassword");
+        user.setFirstName("Test");
+        user.getMfaBackupCodes().add("backup-code");
+        for (String name : new String[] {"ROLE_USER", "ROLE_MODERATOR"}) {
+            user.addRole(entityManager.persist(new Role(name)));
+        }
+        user = entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findResponseById_ReadsColumnsAndRoleNamesInOneStatement() {
+        // Act
+        UserResponse response = userRepository.findResponseById(user.getId()).orElseThrow();
+
+        // Assert
+        assertEquals("testuser", response.getUsername());
+        assertEquals("Test", response.getFirstName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_MODERATOR"), response.getRoles());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void findResponseByUsername_UserWithoutRoles_ReturnsEmptyRoles() {
+        // Arrange
+        entityManager.persist(new User("noroles", "noroles@example.com", "hashedPassword"));
+        entityManager.flush();
+
+        // Act & Assert
+        assertTrue(userRepository.findResponseByUsername("noroles").orElseThrow().getRoles().isEmpty());
+        assertFalse(userRepository.findResponseByUsername("nobody").isPresent());
+    }
+}
@@ -0,0 +1,169 @@
+package com.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.auth.entity.Permission;
+import com.auth.entity.Role;
+import com.auth.repository.PermissionRepository;
+import com.auth.repository.RoleRepository;
+import com.auth.service.RolesChangedEvent;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationEvaluatorTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AuthorizationEvaluator authz;
+
+    @BeforeEach
+    void setUp() {
+        Permission read = new Permission("users:read");
+        Permission delete = new Permission("users:delete");
+        Role user = new Role("ROLE_USER");
+        Role moderator = new Role("ROLE_MODERATOR");
+        moderator.setPermissions(Set.of(read));
+        moderator.setIncludedRoles(Set.of(user));
+        Role admin = new Role("ROLE_ADMIN");
+        admin.setPermissions(Set.of(delete));
+        admin.setIncludedRoles(Set.of(moderator));
+
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(user, moderator, admin));
+        when(roleRepository.findAllWithIncludedRoles()).thenReturn(List.of(user, moderator, admin));
+        when(permissionRepository.findAll()).thenReturn(List.of(read, delete));
+        authz.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void can_ChecksPermissionsOfCurrentUserThroughHierarchy() {
+        // Arrange
+        authenticate("ROLE_ADMIN");
+
+        // Assert
+        assertTrue(authz.can("users:read"));
+        assertTrue(authz.can("users:delete"));
+        assertFalse(authz.can("users:unknown"));
+    }
+
+    @Test
+    void can_ModeratorLacksAdminPermissions() {
+        // Arrange
+        authenticate("ROLE_MODERATOR");
+
+        // Assert
+        assertTrue(authz.can("users:read"));
+        assertFalse(authz.can("users:delete"));
+    }
+
+    @Test
+    void hasRole_IncludesInheritedRolesAndAcceptsBareNames() {
+        // Arrange
+        authenticate("ROLE_MODERATOR");
+
+        // Assert
+        assertTrue(authz.hasRole("USER"));
+        assertTrue(authz.hasRole("ROLE_MODERATOR"));
+        assertFalse(authz.hasRole("ADMIN"));
+    }
+
+    @Test
+    void can_Unauthenticated_IsDenied() {
+        // Assert
+        assertFalse(authz.can("users:read"));
+    }
+
+    @Test
+    void can_SameAuthentication_ResolvesAuthoritiesOnce() {
+        // Arrange
+        Authentication authentication = mock(Authentication.class);
+        doReturn(AuthorityUtils.createAuthorityList("ROLE_ADMIN")).when(authentication).getAuthorities();
+
+        // Act
+        boolean read = authz.hasPermission(authentication, "users:read");
+        boolean delete = authz.hasPermission(authentication, "users:delete");
+        boolean moderator = authz.hasRole(authentication, "MODERATOR");
+
+        // Assert
+        assertTrue(read && delete && moderator);
+        verify(authentication, times(1)).getAuthorities();
+    }
+
+    @Test
+    void onRolesChanged_GrantedPermission_AppliesToExistingAuthentication() {
+        // Arrange
+        authenticate("ROLE_USER");
+        assertFalse(authz.can("users:read"));
+        Role user = new Role("ROLE_USER");
+        user.setPermissions(Set.of(new Permission("users:read")));
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(user));
+        when(roleRepository.findAllWithIncludedRoles()).thenReturn(List.of(user));
+
+        // Act
+        authz.onRolesChanged(new RolesChangedEvent(this));
+
+        // Assert
+        assertTrue(authz.can("users:read"));
+    }
+
+    @Test
+    void reload_RenamedPermission_KeepsPreviousModelForItsTokens() {
+        // Arrange
+        PermissionModel previous = authz.getModel();
+        Role user = new Role("ROLE_USER");
+        user.setPermissions(Set.of(new Permission("profile:read")));
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(user));
+        when(roleRepository.findAllWithIncludedRoles()).thenReturn(List.of(user));
+        when(permissionRepository.findAll()).thenReturn(List.of(new Permission("profile:read")));
+
+        // Act
+        authz.reload();
+
+        // Assert
+        assertNotEquals(previous.getVersion(), authz.getModel().getVersion());
+        assertSame(previous, authz.getModel(previous.getVersion()));
+        assertSame(authz.getModel(), authz.getModel(authz.getModel().getVersion()));
+        assertNull(authz.getModel("unknown"));
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "someone", null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
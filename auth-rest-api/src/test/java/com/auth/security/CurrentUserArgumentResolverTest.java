@@ -0,0 +1,88 @@
+package com.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class CurrentUserArgumentResolverTest {
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportsParameter_OnlyAnnotatedUserOrIdParameters() throws Exception {
+        // Act & Assert
+        assertTrue(resolver.supportsParameter(parameter("handler", 0)));
+        assertTrue(resolver.supportsParameter(parameter("handler", 1)));
+        assertTrue(resolver.supportsParameter(parameter("handler", 2)));
+        assertFalse(resolver.supportsParameter(parameter("handler", 3)));
+    }
+
+    @Test
+    void resolveArgument_Authenticated_ReturnsPrincipalAndId() throws Exception {
+        // Arrange
+        AuthenticatedUser user = authenticate(7L);
+
+        // Act & Assert
+        assertSame(user, resolver.resolveArgument(parameter("handler", 0), null, null, null));
+        assertEquals(7L, resolver.resolveArgument(parameter("handler", 1), null, null, null));
+    }
+
+    @Test
+    void resolveArgument_Unauthenticated_RejectsUnlessOptional() throws Exception {
+        // Act & Assert
+        assertThrows(AuthenticationCredentialsNotFoundException.class,
+                () -> resolver.resolveArgument(parameter("handler", 0), null, null, null));
+        assertNull(resolver.resolveArgument(parameter("handler", 2), null, null, null));
+    }
+
+    @Test
+    void resolveArgument_TokenWithoutUserId_RejectsIdParameter() throws Exception {
+        // Arrange
+        authenticate(null);
+
+        // Act & Assert
+        assertThrows(InsufficientAuthenticationException.class,
+                () -> resolver.resolveArgument(parameter("handler", 1), null, null, null));
+    }
+
+    private static AuthenticatedUser authenticate(Long id) {
+        AuthenticatedUser user = new AuthenticatedUser(id, "testuser", List.of("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                user, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        return user;
+    }
+
+    private static MethodParameter parameter(String methodName, int index) throws NoSuchMethodException {
+        Method method = Handlers.class.getDeclaredMethod(methodName,
+                AuthenticatedUser.class, Long.class, AuthenticatedUser.class, String.class);
+        return new MethodParameter(method, index);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+
+        void handler(@CurrentUser AuthenticatedUser user, @CurrentUser Long userId,
+                     @CurrentUser(required = false) AuthenticatedUser optionalUser, @CurrentUser String unsupported) {
+        }
+    }
+}
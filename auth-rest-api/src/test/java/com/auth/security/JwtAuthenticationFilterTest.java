@@ -0,0 +1,125 @@
+package com.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+
+import com.auth.service.security.JwtService;
+import com.auth.service.security.TokenClaims;
+
+import jakarta.servlet.FilterChain;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtService, new BearerTokenAuthenticationEntryPoint());
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidToken_AuthenticatesFromClaims() throws Exception {
+        // Arrange
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer good-token");
+        when(jwtService.verifyToken("good-token")).thenReturn(new TokenClaims("testuser", 42L,
+                List.of("ROLE_USER", "ROLE_ADMIN"), Instant.now().plusSeconds(60), Instant.now(), "auth-server"));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("testuser", authentication.getName());
+        assertInstanceOf(AuthenticatedUser.class, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void doFilter_NoToken_ContinuesUnauthenticated() throws Exception {
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(jwtService);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_InvalidToken_RespondsUnauthorized() throws Exception {
+        // Arrange
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer bad-token");
+        when(jwtService.verifyToken(anyString())).thenThrow(new RuntimeException("Failed to parse JWT token"));
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, never()).doFilter(request, response);
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.WWW_AUTHENTICATE).contains("invalid_token"));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_ExpiredClaims_RespondsUnauthorized() throws Exception {
+        // Arrange
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer old-token");
+        when(jwtService.verifyToken("old-token")).thenReturn(new TokenClaims("testuser", 42L,
+                List.of("ROLE_USER"), Instant.now().minusSeconds(1), Instant.now().minusSeconds(60), "auth-server"));
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(filterChain, never()).doFilter(request, response);
+        assertEquals(401, response.getStatus());
+    }
+}
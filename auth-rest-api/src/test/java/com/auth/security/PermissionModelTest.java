@@ -0,0 +1,75 @@
+package com.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PermissionModelTest {
+
+    private final PermissionModel model = PermissionModel.compile(
+            Map.of(
+                    "ROLE_USER", Set.of("profile:read"),
+                    "ROLE_MODERATOR", Set.of("users:read", "users:lock"),
+                    "ROLE_ADMIN", Set.of("users:delete")),
+            Map.of(
+                    "ROLE_ADMIN", Set.of("ROLE_MODERATOR"),
+                    "ROLE_MODERATOR", Set.of("ROLE_USER")),
+            List.of("profile:read", "users:read", "users:lock", "users:delete", "audit:read"));
+
+    @Test
+    void grants_FollowsHierarchyClosure() {
+        // Assert
+        assertTrue(model.grants("ROLE_ADMIN", model.permissionBit("profile:read")));
+        assertTrue(model.grants("ROLE_ADMIN", model.permissionBit("users:lock")));
+        assertTrue(model.grants("ROLE_MODERATOR", model.permissionBit("profile:read")));
+        assertFalse(model.grants("ROLE_MODERATOR", model.permissionBit("users:delete")));
+        assertFalse(model.grants("ROLE_USER", model.permissionBit("users:read")));
+    }
+
+    @Test
+    void unknownNames_GrantNothing() {
+        // Assert
+        assertEquals(-1, model.permissionBit("nope"));
+        assertFalse(model.grants("ROLE_GUEST", model.permissionBit("profile:read")));
+        assertFalse(model.grants("ROLE_ADMIN", model.permissionBit("nope")));
+        assertFalse(model.grants("ROLE_ADMIN", model.permissionBit("audit:read")));
+    }
+
+    @Test
+    void includes_ReflectsRoleHierarchy() {
+        // Assert
+        assertTrue(model.includes("ROLE_ADMIN", model.roleBit("ROLE_USER")));
+        assertTrue(model.includes("ROLE_USER", model.roleBit("ROLE_USER")));
+        assertFalse(model.includes("ROLE_USER", model.roleBit("ROLE_ADMIN")));
+    }
+
+    @Test
+    void compile_CyclicHierarchy_Terminates() {
+        // Act
+        PermissionModel cyclic = PermissionModel.compile(
+                Map.of("ROLE_A", Set.of("a"), "ROLE_B", Set.of("b")),
+                Map.of("ROLE_A", Set.of("ROLE_B"), "ROLE_B", Set.of("ROLE_A")),
+                List.of());
+
+        // Assert
+        assertTrue(cyclic.grants("ROLE_A", cyclic.permissionBit("b")));
+        assertTrue(cyclic.grants("ROLE_B", cyclic.permissionBit("a")));
+    }
+
+    @Test
+    void permissionsOf_UnionsRoles() {
+        // Act
+        BitSet granted = model.permissionsOf(List.of("ROLE_USER", "ROLE_GUEST"));
+
+        // Assert
+        assertEquals(1, granted.cardinality());
+        assertTrue(granted.get(model.permissionBit("profile:read")));
+    }
+}
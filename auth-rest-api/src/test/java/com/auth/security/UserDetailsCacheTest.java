@@ -0,0 +1,164 @@
+package com.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserDetailsCacheTest {
+
+    private UserDetailsCache userDetailsCache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDetailsCache = new UserDetailsCache();
+        ReflectionTestUtils.setField(userDetailsCache, "enabled", true);
+        ReflectionTestUtils.setField(userDetailsCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(userDetailsCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsCache, "meterRegistry", meterRegistry);
+        userDetailsCache.init();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_SameUsername_LoadsOnceAndSharesSnapshot() {
+        // Act
+        AuthUserDetails first = userDetailsCache.get("alice", this::load);
+        AuthUserDetails second = userDetailsCache.get("alice", this::load);
+        AuthUserDetails byId = userDetailsCache.get(1L, () -> load("alice"));
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, byId);
+        assertEquals(1, loads.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", UserDetailsCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_UnknownUser_IsNotCached() {
+        // Act
+        AuthUserDetails first = userDetailsCache.get("nobody", name -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        userDetailsCache.get("nobody", name -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // Assert
+        assertNull(first);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_ById_DropsOnlyThatUser() {
+        // Arrange
+        userDetailsCache.get("alice", this::load);
+        userDetailsCache.get("bob", this::load);
+
+        // Act
+        userDetailsCache.invalidate(1L);
+        userDetailsCache.get("alice", this::load);
+        userDetailsCache.get("bob", this::load);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidate_InTransaction_DropsAgainAfterCompletion() {
+        // Arrange
+        userDetailsCache.get("alice", this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            userDetailsCache.invalidate(1L);
+            // A concurrent reader re-caches the row before the write commits
+            userDetailsCache.get("alice", this::load);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userDetailsCache.get("alice", this::load);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_LoadOverlappingCommittedInvalidation_IsNotCached() {
+        // Arrange
+        userDetailsCache.get("alice", this::load);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userDetailsCache.invalidate(1L);
+
+            // Act
+            // A reader loads the row before the write commits and caches it only after the final drop
+            userDetailsCache.get("alice", name -> {
+                AuthUserDetails stale = load(name);
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                }
+                return stale;
+            });
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        userDetailsCache.get("alice", this::load);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_ByIdOverlappingInvalidation_IsNotCached() {
+        // Act
+        userDetailsCache.get(1L, () -> {
+            AuthUserDetails stale = load("alice");
+            userDetailsCache.invalidate(1L);
+            return stale;
+        });
+        userDetailsCache.get("alice", this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void eraseCredentials_KeepsSharedHash() {
+        // Arrange
+        AuthUserDetails details = userDetailsCache.get("alice", this::load);
+
+        // Act
+        details.eraseCredentials();
+
+        // Assert
+        assertEquals("hash", userDetailsCache.get("alice", this::load).getPassword());
+    }
+
+    private AuthUserDetails load(String username) {
+        loads.incrementAndGet();
+        long id = "alice".equals(username) ? 1L : 2L;
+        return new AuthUserDetails(id, username, "hash", true, true, true, true,
+                AuthorityUtils.createAuthorityList(List.of("ROLE_USER").toArray(String[]::new)));
+    }
+}
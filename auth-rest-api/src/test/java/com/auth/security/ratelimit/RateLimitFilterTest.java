@@ -0,0 +1,177 @@
+package com.auth.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.auth.security.AuthenticatedUser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    private static final String LOGIN_BODY = "{\"password\":{\"nested\":\"x\"},\"username\":\"alice\",\"clientId\":\"web\"}";
+
+    @Mock
+    private RateLimitService rateLimitService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private RateLimitFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(rateLimitService);
+        response = new MockHttpServletResponse();
+        when(rateLimitService.isEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void limitsLoginByAddressAndBodyUsernameAndReplaysBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/api/auth/login", LOGIN_BODY);
+        when(rateLimitService.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", "alice")).thenReturn(0L);
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        ArgumentCaptor<ServletRequest> forwarded = ArgumentCaptor.forClass(ServletRequest.class);
+        verify(filterChain).doFilter(forwarded.capture(), eq(response));
+        String replayed = new String(forwarded.getValue().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(LOGIN_BODY, replayed);
+    }
+
+    @Test
+    void replaysBufferedBodyToNonBlockingReaders() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/api/auth/login", LOGIN_BODY);
+        filter.doFilter(request, response, filterChain);
+        ArgumentCaptor<ServletRequest> forwarded = ArgumentCaptor.forClass(ServletRequest.class);
+        verify(filterChain).doFilter(forwarded.capture(), eq(response));
+        ServletInputStream input = forwarded.getValue().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        boolean[] allDataRead = new boolean[1];
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                int n;
+                while (input.isReady() && (n = input.read(buffer)) > 0) {
+                    received.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        // Assert
+        assertEquals(LOGIN_BODY, received.toString(StandardCharsets.UTF_8));
+        assertTrue(allDataRead[0]);
+        assertTrue(input.isFinished());
+    }
+
+    @Test
+    void rejectsWith429AndRetryAfterWithoutCallingChain() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = jsonRequest("/api/users/register", LOGIN_BODY);
+        when(rateLimitService.tryAcquire(RateLimitGroup.REGISTER, "10.0.0.1", "alice"))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+        verify(filterChain, never()).doFilter(any(ServletRequest.class), any(ServletResponse.class));
+    }
+
+    @Test
+    void limitsMfaRoutesByAuthenticatedUser() throws Exception {
+        // Arrange
+        AuthenticatedUser user = new AuthenticatedUser(7L, "bob", List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/mfa/verify");
+        request.setRemoteAddr("10.0.0.1");
+
+        // Act
+        filter.doFilter(request, response, filterChain);
+
+        // Assert
+        verify(rateLimitService).tryAcquire(RateLimitGroup.MFA, "10.0.0.1", "bob");
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void ignoresUnmatchedPathsAndMalformedBodies() throws Exception {
+        // Arrange
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/users/me");
+        MockHttpServletRequest malformed = jsonRequest("/api/auth/refresh", "{\"username\":");
+
+        // Act
+        filter.doFilter(other, response, filterChain);
+        filter.doFilter(malformed, new MockHttpServletResponse(), filterChain);
+
+        // Assert
+        verify(rateLimitService, never()).tryAcquire(eq(RateLimitGroup.REGISTER), any(), any());
+        verify(rateLimitService).tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", null);
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private static MockHttpServletRequest jsonRequest(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.1");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,42 @@
+package com.auth.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RateLimitServiceTest {
+
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.rate-limit.auth.ip.requests-per-minute", "60")
+                .withProperty("app.rate-limit.auth.ip.burst", "100")
+                .withProperty("app.rate-limit.auth.username.requests-per-minute", "1")
+                .withProperty("app.rate-limit.auth.username.burst", "2");
+        rateLimitService = new RateLimitService();
+        ReflectionTestUtils.setField(rateLimitService, "maxTrackedKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimitService, "environment", environment);
+        rateLimitService.init();
+    }
+
+    @Test
+    void tryAcquire_UsernameBurstUsedUp_LimitsOnlyThatAddress() {
+        // Arrange
+        rateLimitService.tryAcquire(RateLimitGroup.AUTH, "10.0.0.9", "alice");
+        rateLimitService.tryAcquire(RateLimitGroup.AUTH, "10.0.0.9", "Alice");
+
+        // Act
+        long sameAddress = rateLimitService.tryAcquire(RateLimitGroup.AUTH, "10.0.0.9", "alice");
+        long otherAddress = rateLimitService.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", "alice");
+
+        // Assert
+        assertTrue(sameAddress > 0);
+        assertEquals(0, otherAddress);
+    }
+}
@@ -0,0 +1,89 @@
+package com.auth.security.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void allowsBurstThenRejectsWithRetryDelay() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(60, 3, 1000, now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limiter.tryAcquire("10.0.0.1"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(60, 1, 1000, now::get);
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    void boundsTrackedKeys() {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(60, 1, 100, now::get);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("user-" + i);
+        }
+
+        // Assert
+        assertTrue(limiter.trackedKeys() <= 100);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws Exception {
+        // Arrange
+        RateLimiter limiter = new RateLimiter(1, 50, 1000, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limiter.tryAcquire("shared") == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(50, allowed.get());
+    }
+}
@@ -0,0 +1,274 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.auth.dto.BulkUserRequest;
+import com.auth.dto.UserPage;
+import com.auth.dto.UserSummary;
+import com.auth.entity.RefreshToken;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+import com.auth.repository.UserFilter;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.LoginAttemptService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the admin operations against an in-memory database and checks that each is a single statement.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({AdminUserService.class, LoginAttemptService.class, UserDetailsCache.class, JacksonAutoConfiguration.class})
+class AdminUserServiceTest {
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private LoginAttemptService loginAttemptService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User admin;
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = entityManager.persist(new Role("ROLE_USER"));
+        Role adminRole = entityManager.persist(new Role("ROLE_ADMIN"));
+        admin = persistUser("admin", adminRole, LocalDateTime.now());
+        alice = persistUser("alice", userRole, LocalDateTime.now().minusDays(100));
+        bob = persistUser("bob", userRole, LocalDateTime.now().minusDays(1));
+        carol = persistUser("carol", adminRole, LocalDateTime.now().minusDays(100));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private User persistUser(String username, Role role, LocalDateTime lastLoginAt) {
+        User user = new User(username, username + "@example.com", "hashedPassword");
+        user.addRole(role);
+        user.setLastLoginAt(lastLoginAt);
+        return entityManager.persist(user);
+    }
+
+    @Test
+    void listUsers_Pages_SeekOnIdWithOneStatementPerPage() {
+        // Act
+        UserPage first = adminUserService.listUsers(new UserFilter(), null, 3);
+        UserPage second = adminUserService.listUsers(new UserFilter(), first.getNextAfterId(), 3);
+
+        // Assert
+        assertEquals(List.of(admin.getId(), alice.getId(), bob.getId()),
+                first.getUsers().stream().map(UserSummary::getId).toList());
+        assertEquals(List.of("ROLE_ADMIN"), first.getUsers().get(0).getRoles());
+        assertEquals(List.of(carol.getId()), second.getUsers().stream().map(UserSummary::getId).toList());
+        assertEquals(null, second.getNextAfterId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void exportUsers_Csv_WritesHeaderAndOneLinePerMatchingUser() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long exported = adminUserService.exportUsers(new UserFilter("ROLE_USER", null, null, null),
+                UserExportFormat.CSV, out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, exported);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("id,username,email"));
+        assertTrue(lines.get(1).startsWith(alice.getId() + ",alice,alice@example.com,true,true,false,"));
+        assertTrue(lines.get(2).endsWith(",ROLE_USER"));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '`', value = {
+            "=HYPERLINK(\"http://evil\")|\"'=HYPERLINK(\"\"http://evil\"\")\"",
+            "+1|\"'+1\"",
+            "-1|\"'-1\"",
+            "@SUM(A1)|\"'@SUM(A1)\"",
+            "a,b|\"a,b\"",
+            "alice|alice"})
+    void csvField_FormulaOrSeparator_IsQuotedAndEscaped(String value, String expected) {
+        // Act & Assert
+        assertEquals(expected, AdminUserService.csvField(value));
+    }
+
+    @Test
+    void csvField_LeadingTabOrCarriageReturn_IsEscaped() {
+        // Act & Assert
+        assertEquals("\"'\tcmd\"", AdminUserService.csvField("\tcmd"));
+        assertEquals("\"'\rcmd\"", AdminUserService.csvField("\rcmd"));
+    }
+
+    @Test
+    void exportUsers_Ndjson_WritesOneJsonObjectPerLine() throws IOException {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        adminUserService.exportUsers(null, UserExportFormat.NDJSON, out);
+
+        // Assert
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":" + admin.getId() + ",\"username\":\"admin\""));
+        assertTrue(lines.get(3).contains("\"roles\":[\"ROLE_ADMIN\"]"));
+    }
+
+    @Test
+    void disableUsers_ByIds_RunsOneUpdateAndSkipsCurrentUser() {
+        // Act
+        int disabled = adminUserService.disableUsers(
+                new BulkUserRequest(Set.of(admin.getId(), alice.getId(), bob.getId())), admin.getId());
+
+        // Assert
+        assertEquals(2, disabled);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(reload(admin).getEnabled());
+        assertFalse(reload(alice).getEnabled());
+        assertFalse(reload(bob).getEnabled());
+        assertTrue(reload(carol).getEnabled());
+    }
+
+    @Test
+    void lockUsers_ByRoleAndInactivity_LocksOnlyMatchingUsersAndRevokesTheirTokens() {
+        // Arrange
+        UserFilter filter = new UserFilter("ROLE_ADMIN", LocalDateTime.now().minusDays(30), null, null);
+        RefreshToken carolToken = persistRefreshToken(carol);
+        RefreshToken aliceToken = persistRefreshToken(alice);
+        statistics.clear();
+
+        // Act
+        int locked = adminUserService.lockUsers(new BulkUserRequest(filter), admin.getId());
+
+        // Assert
+        assertEquals(1, locked);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertFalse(reload(carol).getAccountNonLocked());
+        assertTrue(reload(alice).getAccountNonLocked());
+        assertTrue(reload(admin).getAccountNonLocked());
+        assertTrue(entityManager.find(RefreshToken.class, carolToken.getId()).isRevoked());
+        assertFalse(entityManager.find(RefreshToken.class, aliceToken.getId()).isRevoked());
+    }
+
+    @Test
+    void lockUsers_ByIds_RevokesTheirTokens() {
+        // Arrange
+        RefreshToken aliceToken = persistRefreshToken(alice);
+        RefreshToken bobToken = persistRefreshToken(bob);
+
+        // Act
+        adminUserService.lockUsers(new BulkUserRequest(Set.of(alice.getId())), admin.getId());
+
+        // Assert
+        assertFalse(reload(alice).getAccountNonLocked());
+        assertTrue(entityManager.find(RefreshToken.class, aliceToken.getId()).isRevoked());
+        assertFalse(entityManager.find(RefreshToken.class, bobToken.getId()).isRevoked());
+    }
+
+    @Test
+    void unlockUsers_ByFilter_ClearsFailedAttempts() {
+        // Arrange
+        adminUserService.lockUsers(new BulkUserRequest(Set.of(alice.getId(), bob.getId())), admin.getId());
+        for (int i = 0; i < 4; i++) {
+            loginAttemptService.recordFailure(alice.getId());
+            loginAttemptService.recordFailure(bob.getId());
+        }
+        UserFilter filter = new UserFilter("ROLE_USER", LocalDateTime.now().minusDays(30), null, null);
+
+        // Act
+        int unlocked = adminUserService.unlockUsers(new BulkUserRequest(filter), admin.getId());
+
+        // Assert
+        assertEquals(1, unlocked);
+        assertTrue(reload(alice).getAccountNonLocked());
+        assertFalse(reload(bob).getAccountNonLocked());
+        // One more failure would have reached the limit of five had the unlock kept the counters
+        assertFalse(loginAttemptService.recordFailure(alice.getId()));
+        assertTrue(loginAttemptService.recordFailure(bob.getId()));
+    }
+
+    @Test
+    void deleteUsers_ByFilter_RemovesUsersAndTheirRoles() {
+        // Arrange
+        UserFilter filter = new UserFilter(null, LocalDateTime.now().minusDays(30), null, null);
+
+        // Act
+        int deleted = adminUserService.deleteUsers(new BulkUserRequest(filter), admin.getId());
+
+        // Assert
+        assertEquals(2, deleted);
+        assertEquals(null, entityManager.find(User.class, alice.getId()));
+        assertEquals(null, entityManager.find(User.class, carol.getId()));
+        assertEquals(bob.getId(), reload(bob).getId());
+    }
+
+    @Test
+    void lockUsers_EmptyFilterOrBothSelectors_Throws() {
+        // Arrange
+        BulkUserRequest both = new BulkUserRequest(Set.of(alice.getId()));
+        both.setFilter(new UserFilter("ROLE_USER", null, null, null));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> adminUserService.lockUsers(new BulkUserRequest(new UserFilter()), admin.getId()));
+        assertThrows(IllegalArgumentException.class, () -> adminUserService.lockUsers(both, admin.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> adminUserService.lockUsers(new BulkUserRequest(Set.of(admin.getId())), admin.getId()));
+    }
+
+    private RefreshToken persistRefreshToken(User user) {
+        RefreshToken token = entityManager.persist(new RefreshToken(user.getUsername() + "-token",
+                entityManager.find(User.class, user.getId()), "auth-rest-api", LocalDateTime.now().plusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+        return token;
+    }
+
+    private User reload(User user) {
+        entityManager.clear();
+        return entityManager.find(User.class, user.getId());
+    }
+}
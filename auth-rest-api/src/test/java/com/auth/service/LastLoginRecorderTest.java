@@ -0,0 +1,121 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final LocalDateTime LATER = EARLIER.plusMinutes(5);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new LastLoginRecorder();
+        ReflectionTestUtils.setField(recorder, "flushIntervalMillis", 60_000L);
+        ReflectionTestUtils.setField(recorder, "schema", "auth");
+        ReflectionTestUtils.setField(recorder, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(recorder, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(recorder, "entityManagerFactory", entityManagerFactory);
+        recorder.init();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_RepeatedLogins_WritesLatestTimePerUserInOneBatch() {
+        // Arrange
+        recorder.record(2L, LATER);
+        recorder.record(1L, EARLIER);
+        recorder.record(1L, LATER);
+        recorder.record(2L, EARLIER);
+
+        // Act
+        int written = recorder.flush();
+
+        // Assert
+        ArgumentCaptor<Collection<Map.Entry<Long, LocalDateTime>>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE auth.users SET last_login_at = ? WHERE id = ?"),
+                batch.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, written);
+        assertEquals(List.of(Map.entry(1L, LATER), Map.entry(2L, LATER)), List.copyOf(batch.getValue()));
+        assertEquals(0, recorder.pendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_NothingRecorded_SkipsDatabase() {
+        // Act & Assert
+        assertEquals(0, recorder.flush());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_WriteFails_KeepsTimesForNextFlush() {
+        // Arrange
+        recorder.record(1L, EARLIER);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        // Act & Assert
+        assertThrows(QueryTimeoutException.class, () -> recorder.flush());
+        recorder.record(1L, LATER);
+        assertEquals(1, recorder.pendingCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shutdown_PendingTimes_FlushesThem() {
+        // Arrange
+        recorder.record(1L, EARLIER);
+
+        // Act
+        recorder.shutdown();
+
+        // Assert
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(Collection.class), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(0, recorder.pendingCount());
+    }
+}
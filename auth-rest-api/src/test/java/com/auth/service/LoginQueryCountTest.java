@@ -0,0 +1,220 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.auth.dto.LoginRequest;
+import com.auth.dto.TokenResponse;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.JwtService;
+import com.auth.service.security.LoginAttemptService;
+import com.auth.service.security.PasswordService;
+
+/**
+ * Guards the SQL statements issued by a password login against an in-memory database.
+ *
+ * <p>Every prepared statement is recorded by {@link RecordingStatementInspector} and reduced to its verb and
+ * table, so a change in what a login runs fails here with the statements themselves, not just a count.</p>
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.auth.service.LoginQueryCountTest$RecordingStatementInspector"
+})
+@Import({LoginService.class, RefreshTokenService.class, LoginAttemptService.class, UserDetailsCache.class,
+        LastLoginRecorder.class})
+class LoginQueryCountTest {
+
+    // The user and its roles in one join fetch, then the refresh token. The last login is written behind by
+    // LastLoginRecorder and a rehashed password only when the stored hash is outdated, so neither appears here.
+    private static final List<String> LOGIN_STATEMENTS = List.of(
+            "select users",
+            "insert refresh_tokens");
+
+    // An outdated stored hash is upgraded by its own update of the users row; the bulk update runs at once,
+    // the refresh token insert when the transaction flushes
+    private static final List<String> REHASH_LOGIN_STATEMENTS = List.of(
+            "select users",
+            "update users",
+            "insert refresh_tokens");
+
+    // Later logins take the user and its roles from the user details cache
+    private static final List<String> CACHED_LOGIN_STATEMENTS = List.of(
+            "insert refresh_tokens");
+
+    // Refresh token ids come from a pooled sequence: one call hands out ids for this many tokens. Whether a
+    // given login makes that call depends on the ids drawn before it, so it is asserted apart from the lists.
+    private static final int REFRESH_TOKEN_ID_BLOCK = 50;
+    private static final String REFRESH_TOKEN_SEQUENCE_CALL = "nextval refresh_tokens_seq";
+
+    @Autowired
+    private LoginService loginService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private PasswordService passwordService;
+
+    @BeforeEach
+    void setUp() {
+        // The cache and the last login buffer outlive each test's rolled back data
+        userDetailsCache.invalidateAll();
+        lastLoginRecorder.flush();
+        User user = new User("testuser", "test@example.com", "hashedPassword");
+        for (String name : new String[] {"ROLE_USER", "ROLE_ADMIN", "ROLE_MODERATOR"}) {
+            Role role = entityManager.persist(new Role(name));
+            user.addRole(role);
+        }
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+
+        when(passwordService.verifyPassword(anyString(), anyString())).thenReturn(true);
+        when(jwtService.generateAccessToken(any())).thenReturn("access-token");
+
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void login_UserWithSeveralRoles_RunsFixedNumberOfStatements() {
+        // Act
+        TokenResponse response = loginService.login(new LoginRequest("testuser", "password123"));
+        entityManager.flush();
+
+        // Assert
+        assertEquals("access-token", response.getAccessToken());
+        assertNotNull(response.getRefreshToken());
+        assertEquals(LOGIN_STATEMENTS, RecordingStatementInspector.statements());
+        assertSequenceCallsAtMost(1);
+    }
+
+    @Test
+    void login_OutdatedHash_UpdatesPasswordHashSeparately() {
+        // Arrange
+        when(passwordService.needsRehash("hashedPassword")).thenReturn(true);
+        when(passwordService.hashPassword("password123")).thenReturn("upgradedHash");
+
+        // Act
+        loginService.login(new LoginRequest("testuser", "password123"));
+        entityManager.flush();
+
+        // Assert
+        assertEquals(REHASH_LOGIN_STATEMENTS, RecordingStatementInspector.statements());
+        assertSequenceCallsAtMost(1);
+    }
+
+    @Test
+    void login_Repeated_ReadsUserFromCache() {
+        // Arrange
+        loginService.login(new LoginRequest("testuser", "password123"));
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        // Act
+        loginService.login(new LoginRequest("testuser", "password123"));
+        entityManager.flush();
+
+        // Assert
+        assertEquals(CACHED_LOGIN_STATEMENTS, RecordingStatementInspector.statements());
+        assertSequenceCallsAtMost(1);
+    }
+
+    @Test
+    void login_Repeated_WritesLastLoginOnceOnFlush() {
+        // Arrange
+        loginService.login(new LoginRequest("testuser", "password123"));
+        loginService.login(new LoginRequest("testuser", "password123"));
+        entityManager.flush();
+
+        // Act
+        int written = lastLoginRecorder.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, written);
+        User user = entityManager.getEntityManager()
+                .createQuery("SELECT u FROM User u WHERE u.username = 'testuser'", User.class)
+                .getSingleResult();
+        assertNotNull(user.getLastLoginAt());
+    }
+
+    @Test
+    void login_OneIdBlockOfLogins_CallsSequenceOnce() {
+        // Act
+        for (int i = 0; i < REFRESH_TOKEN_ID_BLOCK; i++) {
+            loginService.login(new LoginRequest("testuser", "password123"));
+        }
+        entityManager.flush();
+
+        // Assert
+        assertEquals(List.of(REFRESH_TOKEN_SEQUENCE_CALL), RecordingStatementInspector.sequenceCalls());
+    }
+
+    private static void assertSequenceCallsAtMost(int calls) {
+        List<String> sequenceCalls = RecordingStatementInspector.sequenceCalls();
+        assertTrue(sequenceCalls.size() <= calls, "sequence calls: " + sequenceCalls);
+        assertTrue(sequenceCalls.stream().allMatch(REFRESH_TOKEN_SEQUENCE_CALL::equals), "sequence calls: " + sequenceCalls);
+    }
+
+    /**
+     * Records each statement as its verb and table, e.g. {@code "select users"} or {@code "insert refresh_tokens"}.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        private static final Pattern TABLE = Pattern.compile("(?:from|into|update|next value for)\\s+(?:\\w+\\.)?(\\w+)");
+
+        @Override
+        public String inspect(String sql) {
+            String statement = sql.trim().toLowerCase(Locale.ROOT);
+            Matcher table = TABLE.matcher(statement);
+            String verb = statement.contains("next value for") ? "nextval" : statement.split("\\s+", 2)[0];
+            STATEMENTS.add(table.find() ? verb + " " + table.group(1) : verb);
+            return sql;
+        }
+
+        static List<String> statements() {
+            return STATEMENTS.stream().filter(statement -> !statement.startsWith("nextval")).toList();
+        }
+
+        static List<String> sequenceCalls() {
+            return STATEMENTS.stream().filter(statement -> statement.startsWith("nextval")).toList();
+        }
+    }
+}
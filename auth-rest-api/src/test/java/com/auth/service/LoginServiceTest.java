@@ -0,0 +1,159 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.dto.LoginRequest;
+import com.auth.entity.RefreshToken;
+import com.auth.entity.User;
+import com.auth.repository.UserRepository;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.JwtService;
+import com.auth.service.security.LoginAttemptService;
+import com.auth.service.security.PasswordService;
+
+@ExtendWith(MockitoExtension.class)
+class LoginServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private PasswordService passwordService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Not initialized, so it passes every lookup through to the repository
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache();
+
+    @InjectMocks
+    private LoginService loginService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginService, "dummyPasswordHash", "dummyHash");
+
+        testUser = new User("testuser", "test@example.com", "hashedPassword");
+        testUser.setId(1L);
+    }
+
+    @Test
+    void login_UnknownUser_ChecksDummyHashAndThrows() {
+        // Arrange
+        when(userRepository.findByUsernameWithRoles("nobody")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login(new LoginRequest("nobody", "password123")));
+        verify(passwordService).verifyPassword("password123", "dummyHash");
+    }
+
+    @Test
+    void login_WrongPassword_ThrowsWithoutIssuingTokens() {
+        // Arrange
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordService.verifyPassword("wrong", "hashedPassword")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class,
+                () -> loginService.login(new LoginRequest("testuser", "wrong")));
+        verify(jwtService, never()).generateAccessToken(any());
+        verify(refreshTokenService, never()).createRefreshToken(any(), anyString(), anyLong());
+        verify(lastLoginRecorder, never()).record(any(), any());
+    }
+
+    @Test
+    void login_OutdatedHash_StoresUpgradedHashAndRecordsLastLogin() {
+        // Arrange
+        ReflectionTestUtils.setField(loginService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
+        when(passwordService.needsRehash("hashedPassword")).thenReturn(true);
+        when(passwordService.hashPassword("password123")).thenReturn("upgradedHash");
+        when(refreshTokenService.createRefreshToken(any(), anyString(), anyLong()))
+                .thenReturn(new RefreshToken("refresh-token", testUser, "auth-rest-api", null));
+
+        // Act
+        loginService.login(new LoginRequest("testuser", "password123"));
+
+        // Assert
+        verify(userRepository).updatePasswordHash(1L, "upgradedHash");
+        verify(lastLoginRecorder).record(eq(1L), any());
+    }
+
+    @Test
+    void login_LockedAccount_Throws() {
+        // Arrange
+        testUser.setAccountNonLocked(false);
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(LockedException.class,
+                () -> loginService.login(new LoginRequest("testuser", "password123")));
+        verify(jwtService, never()).generateAccessToken(any());
+    }
+
+    @Test
+    void login_WrongPasswordReachingFailureLimit_ThrowsLocked() {
+        // Arrange
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordService.verifyPassword("wrong", "hashedPassword")).thenReturn(false);
+        when(loginAttemptService.recordFailure(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(LockedException.class,
+                () -> loginService.login(new LoginRequest("testuser", "wrong")));
+        verify(jwtService, never()).generateAccessToken(any());
+    }
+
+    @Test
+    void login_LockPendingWrite_ThrowsEvenWithCorrectPassword() {
+        // Arrange
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordService.verifyPassword("password123", "hashedPassword")).thenReturn(true);
+        when(loginAttemptService.isLocked(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(LockedException.class,
+                () -> loginService.login(new LoginRequest("testuser", "password123")));
+        verify(loginAttemptService, never()).recordSuccess(any());
+    }
+}
@@ -16,10 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.LockedException;
 
 import com.auth.dto.MfaSetupResponse;
 import com.auth.entity.User;
 import com.auth.repository.UserRepository;
+import com.auth.service.security.LoginAttemptService;
 
 @ExtendWith(MockitoExtension.class)
 class MfaServiceTest {
@@ -27,6 +29,9 @@ class MfaServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
     @InjectMocks
     private MfaService mfaService;
 
@@ -110,4 +115,16 @@ class MfaServiceTest {
             mfaService.verifyMfaCode(1L, "123456");
         });
     }
+
+    @Test
+    void verifyMfaCode_InvalidCodeReachingFailureLimit_ThrowsLocked() {
+        // Arrange
+        testUser.setMfaEnabled(true);
+        testUser.setMfaSecret("testSecret");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(loginAttemptService.recordFailure(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(LockedException.class, () -> mfaService.verifyMfaCode(1L, "invalid"));
+    }
 }
@@ -0,0 +1,145 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.dto.TokenResponse;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshCoalescerTest {
+
+    private static final TokenResponse TOKENS = new TokenResponse("access-token", "successor", 3600L);
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    private RefreshCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = newCoalescer(60_000L);
+    }
+
+    private RefreshCoalescer newCoalescer(long graceMillis) {
+        RefreshCoalescer service = new RefreshCoalescer();
+        ReflectionTestUtils.setField(service, "refreshTokenService", refreshTokenService);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "graceMillis", graceMillis);
+        ReflectionTestUtils.setField(service, "waitTimeoutMillis", 5_000L);
+        ReflectionTestUtils.setField(service, "maxSize", 100L);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void refresh_ConcurrentDuplicates_RotateOnce() throws Exception {
+        // Arrange
+        CountDownLatch rotating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(refreshTokenService.refreshAccessToken("token")).thenAnswer(invocation -> {
+            rotating.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return TOKENS;
+        });
+        CompletableFuture<TokenResponse> first = CompletableFuture.supplyAsync(() -> coalescer.refresh("token"));
+        rotating.await(5, TimeUnit.SECONDS);
+
+        // Act
+        CompletableFuture<TokenResponse> duplicate = CompletableFuture.supplyAsync(() -> coalescer.refresh("token"));
+        Thread.sleep(50);
+        release.countDown();
+
+        // Assert
+        assertSame(TOKENS, first.get(5, TimeUnit.SECONDS));
+        assertSame(TOKENS, duplicate.get(5, TimeUnit.SECONDS));
+        verify(refreshTokenService, times(1)).refreshAccessToken("token");
+    }
+
+    @Test
+    void refresh_DuplicateWithinGraceWindow_ReturnsSameTokens() {
+        // Arrange
+        when(refreshTokenService.refreshAccessToken("token")).thenReturn(TOKENS);
+        coalescer.refresh("token");
+
+        // Act
+        TokenResponse response = coalescer.refresh("token");
+
+        // Assert
+        assertSame(TOKENS, response);
+        verify(refreshTokenService, times(1)).refreshAccessToken("token");
+    }
+
+    @Test
+    void refresh_DuplicateAfterGraceWindow_RotatesAgain() {
+        // Arrange
+        coalescer = newCoalescer(0L);
+        when(refreshTokenService.refreshAccessToken("token")).thenReturn(TOKENS);
+        coalescer.refresh("token");
+
+        // Act
+        coalescer.refresh("token");
+
+        // Assert
+        verify(refreshTokenService, times(2)).refreshAccessToken("token");
+    }
+
+    @Test
+    void refresh_Failure_IsNotKept() {
+        // Arrange
+        when(refreshTokenService.refreshAccessToken("token"))
+                .thenThrow(new RuntimeException("Invalid refresh token"))
+                .thenReturn(TOKENS);
+
+        // Act
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> coalescer.refresh("token"));
+        TokenResponse retry = coalescer.refresh("token");
+
+        // Assert
+        assertEquals("Invalid refresh token", failure.getMessage());
+        assertSame(TOKENS, retry);
+        verify(refreshTokenService, times(2)).refreshAccessToken("token");
+    }
+
+    @Test
+    void refresh_DifferentTokens_RotateIndependently() {
+        // Arrange
+        TokenResponse other = new TokenResponse("other-access", "other-successor", 3600L);
+        when(refreshTokenService.refreshAccessToken("token")).thenReturn(TOKENS);
+        when(refreshTokenService.refreshAccessToken("other")).thenReturn(other);
+
+        // Act & Assert
+        assertSame(TOKENS, coalescer.refresh("token"));
+        assertSame(other, coalescer.refresh("other"));
+    }
+
+    @Test
+    void refresh_Disabled_PassesThrough() {
+        // Arrange
+        RefreshCoalescer disabled = new RefreshCoalescer();
+        ReflectionTestUtils.setField(disabled, "refreshTokenService", refreshTokenService);
+        disabled.init();
+        when(refreshTokenService.refreshAccessToken("token")).thenReturn(TOKENS);
+
+        // Act
+        disabled.refresh("token");
+        disabled.refresh("token");
+
+        // Assert
+        verify(refreshTokenService, times(2)).refreshAccessToken("token");
+    }
+}
@@ -0,0 +1,206 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AccountExpiredException;
+import org.springframework.security.authentication.AccountStatusException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+
+import com.auth.dto.TokenResponse;
+import com.auth.entity.RefreshToken;
+import com.auth.entity.Role;
+import com.auth.entity.User;
+import com.auth.repository.RefreshTokenRepository;
+import com.auth.security.UserDetailsCache;
+import com.auth.service.security.JwtService;
+import com.auth.service.security.LoginAttemptService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Rotates refresh tokens against an in-memory database and guards the number of statements per rotation.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({RefreshTokenService.class, UserDetailsCache.class})
+class RefreshTokenRotationTest {
+
+    // One select for the token, user and roles, one successor insert, one conditional revoke
+    private static final long ROTATION_STATEMENTS = 3;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private LoginAttemptService loginAttemptService;
+
+    private Statistics statistics;
+    private User user;
+    private RefreshToken refreshToken;
+    private RefreshToken otherDeviceToken;
+
+    @BeforeEach
+    void setUp() {
+        // The cache outlives each test's rolled back data
+        userDetailsCache.invalidateAll();
+        user = new User("testuser", "test@example.com", "hashedPassword");
+        user.addRole(entityManager.persist(new Role("ROLE_USER")));
+        entityManager.persist(user);
+        // Also draws a block of refresh token ids, so the rotation below needs no sequence call
+        refreshToken = entityManager.persist(new RefreshToken("refresh-token", user, "auth-rest-api",
+                LocalDateTime.now().plusDays(1)));
+        otherDeviceToken = entityManager.persist(new RefreshToken("other-device-token", user, "auth-rest-api",
+                LocalDateTime.now().plusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        when(jwtService.generateAccessToken(any())).thenReturn("access-token");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void refreshAccessToken_ValidToken_IssuesBothTokensAndLinksSuccessor() {
+        // Act
+        TokenResponse response = refreshTokenService.refreshAccessToken("refresh-token");
+        entityManager.flush();
+
+        // Assert
+        assertEquals(ROTATION_STATEMENTS, statistics.getPrepareStatementCount());
+        assertEquals("access-token", response.getAccessToken());
+        assertNotEquals("refresh-token", response.getRefreshToken());
+        entityManager.clear();
+        RefreshToken rotated = refreshTokenRepository.findById(refreshToken.getId()).orElseThrow();
+        assertNotNull(rotated.getRevokedAt());
+        assertEquals(response.getRefreshToken(), rotated.getReplacedByToken().getTokenValue());
+    }
+
+    @Test
+    void refreshAccessToken_RotatedToken_IsRejectedWhileSuccessorRotates() {
+        // Arrange
+        TokenResponse first = refreshTokenService.refreshAccessToken("refresh-token");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> refreshTokenService.refreshAccessToken("refresh-token"));
+        TokenResponse second = refreshTokenService.refreshAccessToken(first.getRefreshToken());
+        assertNotEquals(first.getRefreshToken(), second.getRefreshToken());
+    }
+
+    @Test
+    void revokeAndReplace_AlreadyRevoked_MatchesNothing() {
+        // Arrange
+        RefreshToken successor = refreshTokenRepository.findById(refreshToken.getId()).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.revokeAndReplace(refreshToken.getId(), successor, now);
+
+        // Act & Assert
+        // What a concurrent rotation sees after losing the race for the row
+        assertEquals(0, refreshTokenRepository.revokeAndReplace(refreshToken.getId(), successor, now));
+    }
+
+    static Stream<Arguments> accountStates() {
+        return Stream.of(
+                Arguments.of((Consumer<User>) account -> account.setEnabled(false), DisabledException.class),
+                Arguments.of((Consumer<User>) account -> account.setAccountNonExpired(false), AccountExpiredException.class),
+                Arguments.of((Consumer<User>) account -> account.setCredentialsNonExpired(false),
+                        CredentialsExpiredException.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("accountStates")
+    void refreshAccessToken_AccountFailsStatusCheck_RejectsAndRevokesAllTokens(
+            Consumer<User> state, Class<? extends AccountStatusException> expected) {
+        // Arrange
+        state.accept(entityManager.find(User.class, user.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(expected, () -> refreshTokenService.refreshAccessToken("refresh-token"));
+        assertAllTokensRevoked();
+    }
+
+    @Test
+    void refreshAccessToken_AccountLocked_RejectsButKeepsOtherDevicesSignedIn() {
+        // Arrange
+        entityManager.find(User.class, user.getId()).setAccountNonLocked(false);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(LockedException.class, () -> refreshTokenService.refreshAccessToken("refresh-token"));
+        assertNoTokenRevoked();
+    }
+
+    @Test
+    void refreshAccessToken_LockPendingInMemory_RejectsButKeepsOtherDevicesSignedIn() {
+        // Arrange
+        when(loginAttemptService.isLocked(user.getId())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(LockedException.class, () -> refreshTokenService.refreshAccessToken("refresh-token"));
+        assertNoTokenRevoked();
+    }
+
+    private void assertAllTokensRevoked() {
+        entityManager.flush();
+        entityManager.clear();
+        assertTrue(refreshTokenRepository.findById(refreshToken.getId()).orElseThrow().isRevoked());
+        assertTrue(refreshTokenRepository.findById(otherDeviceToken.getId()).orElseThrow().isRevoked());
+    }
+
+    private void assertNoTokenRevoked() {
+        entityManager.flush();
+        entityManager.clear();
+        assertFalse(refreshTokenRepository.findById(refreshToken.getId()).orElseThrow().isRevoked());
+        assertTrue(refreshTokenRepository.findById(otherDeviceToken.getId()).orElseThrow().isValid());
+    }
+}
@@ -0,0 +1,115 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.auth.entity.Permission;
+import com.auth.entity.Role;
+import com.auth.repository.PermissionRepository;
+import com.auth.repository.RoleRepository;
+
+/**
+ * Checks that committed role writes reach the {@link RoleRegistry} through one {@link RolesChangedEvent}.
+ * Runs without a test transaction, so each write commits.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.default_schema=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@Import({RoleChangePublisher.class, RoleRegistry.class})
+class RoleChangePublisherTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void renameRole_Committed_ReloadsRegistryOnce() {
+        // Arrange
+        Long id = roleRepository.save(new Role("ROLE_EDITOR")).getId();
+        events.clear();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = roleRepository.findById(id).orElseThrow();
+            role.setName("ROLE_AUTHOR");
+            role.setDescription("Writes articles");
+            roleRepository.save(new Role("ROLE_REVIEWER"));
+        });
+
+        // Assert
+        assertEquals(1, events.stream(RolesChangedEvent.class).count());
+        assertFalse(roleRegistry.getRoleNames().contains("ROLE_EDITOR"));
+        assertEquals("ROLE_AUTHOR", roleRegistry.findById(id).orElseThrow().getName());
+        assertEquals("Writes articles", roleRegistry.findById(id).orElseThrow().getDescription());
+        assertTrue(roleRegistry.getRoleNames().contains("ROLE_REVIEWER"));
+    }
+
+    @Test
+    void grantPermission_Committed_PublishesEvent() {
+        // Arrange
+        Long id = roleRepository.save(new Role("ROLE_SUPPORT")).getId();
+        Permission permission = permissionRepository.save(new Permission("tickets:read"));
+        events.clear();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status ->
+                roleRepository.findById(id).orElseThrow().getPermissions().add(permission));
+
+        // Assert
+        assertEquals(1, events.stream(RolesChangedEvent.class).count());
+    }
+
+    @Test
+    void renameRole_RolledBack_PublishesNothing() {
+        // Arrange
+        Long id = roleRepository.save(new Role("ROLE_AUDITOR")).getId();
+        events.clear();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            roleRepository.findById(id).orElseThrow().setName("ROLE_INSPECTOR");
+            roleRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, events.stream(RolesChangedEvent.class).count());
+        assertTrue(roleRegistry.getRoleNames().contains("ROLE_AUDITOR"));
+    }
+}
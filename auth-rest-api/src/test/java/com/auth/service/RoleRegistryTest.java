@@ -0,0 +1,95 @@
+package com.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.auth.entity.Role;
+import com.auth.repository.RoleRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RoleRegistryTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(roleRegistry, "missReloadSeconds", 3600L);
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_USER"), role(2L, "ROLE_ADMIN")));
+        roleRegistry.init();
+    }
+
+    @Test
+    void findByName_KnownRoles_ResolvedWithoutQueries() {
+        // Act
+        Role user = roleRegistry.findByName("ROLE_USER").orElseThrow();
+        Role again = roleRegistry.findByName("ROLE_USER").orElseThrow();
+        Role admin = roleRegistry.findById(2L).orElseThrow();
+
+        // Assert
+        assertEquals(1L, user.getId());
+        assertEquals("ROLE_ADMIN", admin.getName());
+        assertNotSame(user, again);
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), roleRegistry.getRoleNames());
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void findByName_UnknownRole_ReloadsAtMostOncePerInterval() {
+        // Arrange
+        ReflectionTestUtils.setField(roleRegistry, "missReloadSeconds", 0L);
+        when(roleRepository.findAll()).thenReturn(
+                List.of(role(1L, "ROLE_USER"), role(2L, "ROLE_ADMIN"), role(3L, "ROLE_AUDITOR")));
+
+        // Act
+        Role auditor = roleRegistry.findByName("ROLE_AUDITOR").orElseThrow();
+        ReflectionTestUtils.setField(roleRegistry, "missReloadSeconds", 3600L);
+        boolean missing = roleRegistry.findByName("ROLE_MISSING").isEmpty();
+
+        // Assert
+        assertEquals(3L, auditor.getId());
+        assertTrue(missing);
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void onRolesChanged_RenamedRole_ReplacesSnapshot() {
+        // Arrange
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_MEMBER"), role(2L, "ROLE_ADMIN")));
+
+        // Act
+        roleRegistry.onRolesChanged(new RolesChangedEvent(this));
+
+        // Assert
+        assertEquals(Set.of("ROLE_MEMBER", "ROLE_ADMIN"), roleRegistry.getRoleNames());
+        assertEquals("ROLE_MEMBER", roleRegistry.findById(1L).orElseThrow().getName());
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+}
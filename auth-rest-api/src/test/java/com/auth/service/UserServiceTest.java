@@ -7,9 +7,14 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +22,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -25,8 +31,10 @@ import com.auth.dto.UserRegistrationRequest;
 import com.auth.dto.UserResponse;
 import com.auth.entity.Role;
 import com.auth.entity.User;
-import com.auth.repository.RoleRepository;
+import com.auth.repository.RefreshTokenRepository;
 import com.auth.repository.UserRepository;
+import com.auth.security.UserDetailsCache;
+import com.auth.security.AuthUserDetails;
 import com.auth.service.email.EmailService;
 import com.auth.service.security.PasswordService;
 
@@ -37,7 +45,10 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RoleRegistry roleRegistry;
 
     @Mock
     private PasswordService passwordService;
@@ -45,6 +56,10 @@ class UserServiceTest {
     @Mock
     private EmailService emailService;
 
+    // Not initialized, so it passes every lookup through to the repository
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache();
+
     @InjectMocks
     private UserService userService;
 
@@ -79,7 +94,7 @@ class UserServiceTest {
     @Test
     void loadUserByUsername_UserExists_ReturnsUserDetails() {
         // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.findByUsernameWithRoles("testuser")).thenReturn(Optional.of(testUser));
 
         // Act
         UserDetails userDetails = userService.loadUserByUsername("testuser");
@@ -93,12 +108,13 @@ class UserServiceTest {
         assertTrue(userDetails.isAccountNonExpired());
         assertTrue(userDetails.isCredentialsNonExpired());
         assertEquals(1, userDetails.getAuthorities().size());
+        assertEquals(1L, ((AuthUserDetails) userDetails).getId());
     }
 
     @Test
     void loadUserByUsername_UserNotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findByUsernameWithRoles("nonexistent")).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(UsernameNotFoundException.class, () -> {
@@ -112,7 +128,7 @@ class UserServiceTest {
         when(userRepository.existsByUsername("newuser")).thenReturn(false);
         when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
         when(passwordService.hashPassword("password123")).thenReturn("hashedPassword");
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Optional.of(testRole));
+        when(roleRegistry.findByName("ROLE_USER")).thenReturn(Optional.of(testRole));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -124,6 +140,22 @@ class UserServiceTest {
         verify(emailService).sendVerificationEmail(anyString(), anyString());
     }
 
+    @Test
+    void registerUser_WeakPassword_ThrowsBeforeHashing() {
+        // Arrange
+        when(userRepository.existsByUsername("newuser")).thenReturn(false);
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+        doThrow(new RuntimeException("Password must contain an uppercase letter"))
+                .when(passwordService).validatePasswordStrength("password123");
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> {
+            userService.registerUser(registrationRequest);
+        });
+        verify(passwordService, never()).hashPassword(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void registerUser_UsernameExists_ThrowsException() {
         // Arrange
@@ -174,4 +206,16 @@ class UserServiceTest {
         // Assert
         assertFalse(result);
     }
+
+    @Test
+    void lockUser_ExistingUser_RevokesRefreshTokens() {
+        // Arrange
+        when(userRepository.updateAccountNonLocked(eq(List.of(1L)), eq(false), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        userService.lockUser(1L);
+
+        // Assert
+        verify(refreshTokenRepository).revokeAllByUserIdIn(eq(List.of(1L)), any(LocalDateTime.class));
+    }
 }
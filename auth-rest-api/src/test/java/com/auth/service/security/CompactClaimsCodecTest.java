@@ -0,0 +1,106 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.security.AuthorizationEvaluator;
+import com.auth.security.PermissionModel;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+class CompactClaimsCodecTest {
+
+    static final PermissionModel MODEL = PermissionModel.compile(
+            Map.of("ROLE_USER", Set.of("profile:read"), "ROLE_ADMIN", Set.of("users:delete")),
+            Map.of("ROLE_ADMIN", Set.of("ROLE_USER")),
+            List.of());
+
+    static CompactClaimsCodec compactCodec(PermissionModel model) {
+        AuthorizationEvaluator authorizationEvaluator = mock(AuthorizationEvaluator.class);
+        when(authorizationEvaluator.getModel()).thenReturn(model);
+        when(authorizationEvaluator.getModel(model.getVersion())).thenReturn(model);
+        CompactClaimsCodec codec = new CompactClaimsCodec();
+        ReflectionTestUtils.setField(codec, "profile", CompactClaimsCodec.COMPACT_PROFILE);
+        ReflectionTestUtils.setField(codec, "authorizationEvaluator", authorizationEvaluator);
+        return codec;
+    }
+
+    @Test
+    void putRoles_Compact_WritesMasksAndKeepsUnknownRoleNames() {
+        // Arrange
+        CompactClaimsCodec codec = compactCodec(MODEL);
+        Map<String, Object> values = new HashMap<>();
+
+        // Act
+        codec.putRoles(values, List.of("ROLE_ADMIN", "SCOPE_read"));
+        Claims claims = Jwts.claims().add(values).build();
+
+        // Assert
+        assertInstanceOf(Long.class, values.get(CompactClaimsCodec.ROLE_MASK_CLAIM));
+        assertEquals(List.of("SCOPE_read", "ROLE_ADMIN"), codec.readRoles(claims));
+        assertEquals(Set.of(CompactClaimsCodec.ROLE_MASK_CLAIM, CompactClaimsCodec.MODEL_VERSION_CLAIM,
+                TokenClaims.ROLES_CLAIM), values.keySet());
+    }
+
+    @Test
+    void readRoles_OtherModelVersion_Rejected() {
+        // Arrange
+        Map<String, Object> values = new HashMap<>();
+        compactCodec(MODEL).putRoles(values, List.of("ROLE_USER"));
+        PermissionModel changed = PermissionModel.compile(
+                Map.of("ROLE_USER", Set.of("profile:read"), "ROLE_AUDITOR", Set.of("audit:read")), Map.of(), List.of());
+        Claims claims = Jwts.claims().add(values).build();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> compactCodec(changed).readRoles(claims));
+    }
+
+    @Test
+    void encode_WideMasks_UseBase64AndRoundTrip() {
+        // Arrange
+        BitSet narrow = new BitSet();
+        narrow.set(52);
+        BitSet wide = new BitSet();
+        wide.set(3);
+        wide.set(200);
+
+        // Act
+        Object narrowEncoded = CompactClaimsCodec.encode(narrow);
+        Object wideEncoded = CompactClaimsCodec.encode(wide);
+
+        // Assert
+        assertInstanceOf(Long.class, narrowEncoded);
+        assertInstanceOf(String.class, wideEncoded);
+        assertEquals(narrow, CompactClaimsCodec.decode(narrowEncoded));
+        assertEquals(wide, CompactClaimsCodec.decode(wideEncoded));
+    }
+
+    @Test
+    void putRoles_Standard_WritesRoleNames() {
+        // Arrange
+        CompactClaimsCodec codec = new CompactClaimsCodec();
+        Map<String, Object> values = new HashMap<>();
+
+        // Act
+        codec.putRoles(values, List.of("ROLE_USER"));
+
+        // Assert
+        assertFalse(codec.isCompact());
+        assertEquals("auth-server", codec.getIssuer());
+        assertEquals(List.of("ROLE_USER"), codec.readRoles(Jwts.claims().add(values).build()));
+    }
+}
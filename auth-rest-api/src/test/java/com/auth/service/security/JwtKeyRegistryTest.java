@@ -0,0 +1,138 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtKeyRegistryTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    private KeyPair initialKeys;
+    private JwtKeyRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        initialKeys = TestKeys.writeKeyPair(keyDirectory, JwtAlgorithm.RS256);
+        registry = TestKeys.newRegistry(keyDirectory, JwtAlgorithm.RS256);
+    }
+
+    @Test
+    void init_LoadsSigningKeyIndexedByKeyId() {
+        // Act
+        JwtKey signingKey = registry.getSigningKey();
+
+        // Assert
+        assertEquals(JwtAlgorithm.keyIdFor(initialKeys.getPublic()), signingKey.getKeyId());
+        assertEquals(initialKeys.getPublic(), registry.getVerificationKey(signingKey.getKeyId()));
+        assertEquals(initialKeys.getPublic(), registry.getVerificationKey(null));
+        assertEquals(1, registry.getJwkSet().getKeys().size());
+    }
+
+    @Test
+    void reload_UnchangedFiles_KeepsKeySet() {
+        // Act & Assert
+        assertFalse(registry.reload());
+    }
+
+    @Test
+    void reload_RotatedKeyPair_SignsWithNewKeyAndKeepsOldForVerification() throws Exception {
+        // Arrange
+        String oldKeyId = registry.getSigningKey().getKeyId();
+        KeyPair rotatedKeys = TestKeys.writeKeyPair(keyDirectory, JwtAlgorithm.RS256);
+
+        // Act
+        boolean rotated = registry.reload();
+
+        // Assert
+        assertTrue(rotated);
+        String newKeyId = registry.getSigningKey().getKeyId();
+        assertNotEquals(oldKeyId, newKeyId);
+        assertEquals(rotatedKeys.getPublic(), registry.getVerificationKey(newKeyId));
+        assertEquals(initialKeys.getPublic(), registry.getVerificationKey(oldKeyId));
+        assertFalse(registry.getKeys().get(oldKeyId).isSigningKey());
+        assertEquals(2, registry.getJwkSet().getKeys().size());
+    }
+
+    @Test
+    void reload_RotatedKeyPairUnderConfiguredKeyId_KeepsOldKeyVerifiable() throws Exception {
+        // Arrange
+        registry = TestKeys.newRegistry(keyDirectory, JwtAlgorithm.RS256, "auth-key");
+        String oldKeyId = registry.getSigningKey().getKeyId();
+        JwtKeysRotatedEvent[] published = new JwtKeysRotatedEvent[1];
+        ReflectionTestUtils.setField(registry, "eventPublisher",
+                (ApplicationEventPublisher) event -> published[0] = (JwtKeysRotatedEvent) event);
+        KeyPair rotatedKeys = TestKeys.writeKeyPair(keyDirectory, JwtAlgorithm.RS256);
+
+        // Act
+        boolean rotated = registry.reload();
+
+        // Assert
+        assertTrue(rotated);
+        String newKeyId = registry.getSigningKey().getKeyId();
+        assertEquals("auth-key-" + JwtAlgorithm.keyIdFor(initialKeys.getPublic()), oldKeyId);
+        assertEquals("auth-key-" + JwtAlgorithm.keyIdFor(rotatedKeys.getPublic()), newKeyId);
+        assertEquals(rotatedKeys.getPublic(), registry.getVerificationKey(newKeyId));
+        assertEquals(initialKeys.getPublic(), registry.getVerificationKey(oldKeyId));
+        assertTrue(published[0].getRemovedKeyIds().isEmpty());
+    }
+
+    @Test
+    void init_AfterRotationUnderConfiguredKeyId_AssignsSameKeyId() throws Exception {
+        // Arrange
+        registry = TestKeys.newRegistry(keyDirectory, JwtAlgorithm.RS256, "auth-key");
+        TestKeys.writeKeyPair(keyDirectory, JwtAlgorithm.RS256);
+        registry.reload();
+
+        // Act
+        JwtKeyRegistry restarted = TestKeys.newRegistry(keyDirectory, JwtAlgorithm.RS256, "auth-key");
+
+        // Assert
+        String keyId = registry.getSigningKey().getKeyId();
+        assertEquals(keyId, restarted.getSigningKey().getKeyId());
+        assertEquals(registry.getVerificationKey(keyId), restarted.getVerificationKey(keyId));
+        assertEquals(registry.getJwkSet().getKeyByKeyId(keyId).toPublicJWK(),
+                restarted.getJwkSet().getKeyByKeyId(keyId).toPublicJWK());
+    }
+
+    @Test
+    void reload_MismatchedKeyPair_KeepsCurrentKeys() throws Exception {
+        // Arrange
+        String keyId = registry.getSigningKey().getKeyId();
+        KeyPair other = JwtAlgorithm.RS256.generateKeyPair();
+        TestKeys.writePem(keyDirectory.resolve("public.pem"), "PUBLIC KEY", other.getPublic());
+
+        // Act & Assert
+        assertFalse(registry.reload());
+        assertEquals(keyId, registry.getSigningKey().getKeyId());
+    }
+
+    @Test
+    void getVerificationKey_UnknownKeyId_ReturnsNull() {
+        // Act & Assert
+        assertNull(registry.getVerificationKey("unknown"));
+    }
+
+    @Test
+    void init_MissingKeyFile_FailsFast() throws Exception {
+        // Arrange
+        Files.delete(keyDirectory.resolve("private.pem"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> TestKeys.newRegistry(keyDirectory, JwtAlgorithm.RS256));
+    }
+}
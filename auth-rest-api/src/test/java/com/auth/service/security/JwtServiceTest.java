@@ -0,0 +1,180 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.security.AuthUserDetails;
+
+class JwtServiceTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwtService = newJwtService(JwtAlgorithm.RS256);
+
+        userDetails = User.withUsername("testuser")
+                .password("hashedPassword")
+                .authorities("ROLE_USER", "ROLE_ADMIN")
+                .build();
+    }
+
+    private JwtService newJwtService(JwtAlgorithm algorithm) throws IOException {
+        Path directory = Files.createTempDirectory(keyDirectory, algorithm.name());
+        TestKeys.writeKeyPair(directory, algorithm);
+
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "accessTokenValidity", 3600L);
+        ReflectionTestUtils.setField(service, "refreshTokenValidity", 86400L);
+        ReflectionTestUtils.setField(service, "keyRegistry", TestKeys.newRegistry(directory, algorithm));
+        ReflectionTestUtils.setField(service, "verifiedTokenCache", new VerifiedTokenCache());
+        ReflectionTestUtils.setField(service, "claimsCodec", new CompactClaimsCodec());
+        service.initParser();
+        return service;
+    }
+
+    @Test
+    void verifyToken_ValidToken_ReturnsClaims() {
+        // Arrange
+        String token = jwtService.generateAccessToken(userDetails);
+
+        // Act
+        TokenClaims claims = jwtService.verifyToken(token);
+
+        // Assert
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), claims.getRoles().stream().sorted().toList());
+        assertEquals("auth-server", claims.getIssuer());
+        assertTrue(claims.getExpiration().isAfter(claims.getIssuedAt()));
+        assertFalse(claims.isExpired());
+        assertNull(claims.getUserId());
+    }
+
+    @Test
+    void generateAccessToken_AuthUserDetails_EmbedsUserId() {
+        // Arrange
+        AuthUserDetails authUser = new AuthUserDetails(42L, "testuser", "hashedPassword", true, true, true, true,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        // Act
+        TokenClaims claims = jwtService.verifyToken(jwtService.generateAccessToken(authUser));
+
+        // Assert
+        assertEquals(42L, claims.getUserId());
+        assertEquals("testuser", claims.getSubject());
+    }
+
+    @Test
+    void verifyToken_TamperedToken_ThrowsException() {
+        // Arrange
+        String token = jwtService.generateAccessToken(userDetails);
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> jwtService.verifyToken(tampered));
+    }
+
+    @Test
+    void validateToken_MatchingUser_ReturnsTrue() {
+        // Arrange
+        String token = jwtService.generateAccessToken(userDetails);
+
+        // Act & Assert
+        assertTrue(jwtService.validateToken(token, userDetails));
+        assertTrue(jwtService.validateToken(token));
+    }
+
+    @Test
+    void validateToken_ExpiredToken_ReturnsFalse() {
+        // Arrange
+        String token = jwtService.generateToken(userDetails, -1000);
+
+        // Act & Assert
+        assertFalse(jwtService.validateToken(token));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    void generateAccessToken_EachAlgorithm_SignsWithKeyIdAndVerifies(JwtAlgorithm algorithm) throws IOException {
+        // Arrange
+        JwtService service = newJwtService(algorithm);
+
+        // Act
+        String token = service.generateAccessToken(userDetails);
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(header.contains("\"alg\":\"" + algorithm.getSignatureAlgorithm().getId() + "\""));
+        assertTrue(header.contains("\"kid\":\"" + service.getKeyId() + "\""));
+        assertEquals("testuser", service.verifyToken(token).getSubject());
+        assertEquals("testuser", service.decode(token).getSubject());
+    }
+
+    @Test
+    void generateAccessToken_CompactProfile_EncodesRoleMaskAndDecodesRoles() {
+        // Arrange
+        String standardToken = jwtService.generateAccessToken(userDetails);
+        CompactClaimsCodec codec = CompactClaimsCodecTest.compactCodec(CompactClaimsCodecTest.MODEL);
+        ReflectionTestUtils.setField(jwtService, "claimsCodec", codec);
+
+        // Act
+        String compactToken = jwtService.generateAccessToken(userDetails);
+        TokenClaims claims = jwtService.verifyToken(compactToken);
+        String payload = new String(Base64.getUrlDecoder().decode(compactToken.split("\\.")[1]), StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), claims.getRoles().stream().sorted().toList());
+        assertEquals("as", claims.getIssuer());
+        assertFalse(payload.contains("ROLE_"));
+        assertTrue(compactToken.length() < standardToken.length());
+        // Tokens issued under the standard profile keep verifying
+        assertEquals(2, jwtService.verifyToken(standardToken).getRoles().size());
+    }
+
+    @Test
+    void generateAccessToken_CompactProfileSingleRole_HasSmallerPayload() {
+        // Arrange
+        UserDetails user = User.withUsername("testuser").password("hashedPassword").authorities("ROLE_USER").build();
+        String standardToken = jwtService.generateAccessToken(user);
+        ReflectionTestUtils.setField(jwtService, "claimsCodec",
+                CompactClaimsCodecTest.compactCodec(CompactClaimsCodecTest.MODEL));
+
+        // Act
+        String compactToken = jwtService.generateAccessToken(user);
+
+        // Assert
+        String standardPayload = payload(standardToken);
+        String compactPayload = payload(compactToken);
+        assertTrue(compactPayload.length() < standardPayload.length(), compactPayload + " vs " + standardPayload);
+        assertEquals(List.of("ROLE_USER"), jwtService.verifyToken(compactToken).getRoles());
+    }
+
+    private static String payload(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+    }
+}
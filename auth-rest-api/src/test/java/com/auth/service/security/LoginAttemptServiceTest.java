@@ -0,0 +1,178 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.auth.repository.UserRepository;
+import com.auth.security.UserDetailsCache;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LoginAttemptService loginAttemptService;
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginAttemptService, "enabled", true);
+        ReflectionTestUtils.setField(loginAttemptService, "maxFailures", 3);
+        ReflectionTestUtils.setField(loginAttemptService, "windowSeconds", 60L);
+        // Flush manually, never from the background thread
+        ReflectionTestUtils.setField(loginAttemptService, "flushIntervalMillis", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(loginAttemptService, "maxTrackedUsers", 1000L);
+        loginAttemptService.clock = now::get;
+        loginAttemptService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ExecutorService) ReflectionTestUtils.getField(loginAttemptService, "flusher")).shutdownNow();
+    }
+
+    @Test
+    void locksAfterMaxFailuresWithinWindow() {
+        // Act
+        boolean first = loginAttemptService.recordFailure(1L);
+        boolean second = loginAttemptService.recordFailure(1L);
+        boolean third = loginAttemptService.recordFailure(1L);
+
+        // Assert
+        assertFalse(first);
+        assertFalse(second);
+        assertTrue(third);
+        assertTrue(loginAttemptService.isLocked(1L));
+        verify(userRepository, never()).updateAccountNonLocked(anyCollection(), anyBoolean(), any());
+    }
+
+    @Test
+    void failuresOutsideWindowDoNotLock() {
+        // Act
+        loginAttemptService.recordFailure(1L);
+        loginAttemptService.recordFailure(1L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        boolean locked = loginAttemptService.recordFailure(1L);
+
+        // Assert
+        assertFalse(locked);
+        assertFalse(loginAttemptService.isLocked(1L));
+    }
+
+    @Test
+    void successClearsFailures() {
+        // Act
+        loginAttemptService.recordFailure(1L);
+        loginAttemptService.recordFailure(1L);
+        loginAttemptService.recordSuccess(1L);
+        boolean locked = loginAttemptService.recordFailure(1L);
+
+        // Assert
+        assertFalse(locked);
+    }
+
+    @Test
+    void flushWritesAllPendingLocksInOneStatement() {
+        // Arrange
+        for (long userId = 1; userId <= 50; userId++) {
+            for (int i = 0; i < 3; i++) {
+                loginAttemptService.recordFailure(userId);
+            }
+        }
+        when(userRepository.updateAccountNonLocked(anyCollection(), eq(false), any())).thenReturn(50);
+
+        // Act
+        int written = loginAttemptService.flush();
+        int writtenAgain = loginAttemptService.flush();
+
+        // Assert
+        assertEquals(50, written);
+        assertEquals(0, writtenAgain);
+        verify(userRepository, times(1)).updateAccountNonLocked(
+                argThat((Collection<Long> ids) -> Set.copyOf(ids).size() == 50), eq(false), any());
+        verify(userDetailsCache).invalidateAll(anyCollection());
+    }
+
+    @Test
+    void resetDropsPendingLock() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure(1L);
+        }
+
+        // Act
+        loginAttemptService.reset(1L);
+
+        // Assert
+        assertFalse(loginAttemptService.isLocked(1L));
+        assertEquals(0, loginAttemptService.flush());
+    }
+
+    @Test
+    void resetDuringFlushWaitsUntilLockIsCommitted() throws Exception {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.recordFailure(1L);
+        }
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Thread[] unlock = new Thread[1];
+        when(userRepository.updateAccountNonLocked(anyCollection(), eq(false), any())).thenAnswer(invocation -> {
+            // An administrator unlocks the account while the lock is being written
+            unlock[0] = new Thread(() -> {
+                loginAttemptService.reset(1L);
+                events.add("reset");
+            });
+            unlock[0].start();
+            Thread.sleep(100);
+            events.add("lock written");
+            return 1;
+        });
+
+        // Act
+        loginAttemptService.flush();
+        unlock[0].join(TimeUnit.SECONDS.toMillis(5));
+
+        // Assert
+        assertEquals(List.of("lock written", "reset"), events);
+        assertFalse(loginAttemptService.isLocked(1L));
+        assertEquals(0, loginAttemptService.flush());
+    }
+}
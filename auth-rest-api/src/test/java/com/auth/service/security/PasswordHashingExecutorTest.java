@@ -0,0 +1,96 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "timeoutSeconds", 5L);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 2L);
+        ReflectionTestUtils.setField(executor, "meterRegistry", meterRegistry);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void hash_RunsTaskAndRecordsTimings() {
+        // Act
+        String result = executor.hash(() -> "hashed");
+        boolean verified = executor.verify(() -> true);
+
+        // Assert
+        assertEquals("hashed", result);
+        assertTrue(verified);
+        assertEquals(2, meterRegistry.get("password.hashing.wait").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "hash").timer().count());
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "verify").timer().count());
+    }
+
+    @Test
+    void hash_QueueFull_RejectsImmediately() throws Exception {
+        // Arrange: occupy the single thread and the single queue slot
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> executor.hash(() -> {
+            running.countDown();
+            release.await();
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.hash(() -> "second"));
+        waitForQueueSize(1);
+
+        // Act
+        PasswordHashingRejectedException exception = assertThrows(PasswordHashingRejectedException.class,
+                () -> executor.hash(() -> "third"));
+
+        // Assert
+        assertEquals(2L, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("password.hashing.queue.size").gauge().value());
+
+        release.countDown();
+        assertEquals("first", busy.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void hash_TaskFails_PropagatesCause() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> executor.hash(() -> {
+            throw new IllegalArgumentException("bad salt");
+        }));
+    }
+
+    private void waitForQueueSize(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getQueueSize() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
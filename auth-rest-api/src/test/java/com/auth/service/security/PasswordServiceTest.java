@@ -0,0 +1,111 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.service.security.hash.BCryptPasswordHasher;
+import com.auth.service.security.hash.Pbkdf2PasswordHasher;
+
+class PasswordServiceTest {
+
+    private PasswordHashingExecutor hashingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        if (hashingExecutor != null) {
+            hashingExecutor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bcrypt", "pbkdf2", "argon2"})
+    void hashPassword_EachAlgorithm_RoundTrips(String algorithm) {
+        // Arrange
+        PasswordService passwordService = newPasswordService(algorithm, 0, false);
+
+        // Act
+        String hash = passwordService.hashPassword("Secret#123");
+
+        // Assert
+        assertTrue(passwordService.verifyPassword("Secret#123", hash));
+        assertFalse(passwordService.verifyPassword("Wrong#123", hash));
+        assertFalse(passwordService.needsRehash(hash));
+    }
+
+    @Test
+    void verifyPassword_HashFromOtherAlgorithm_VerifiesAndNeedsRehash() {
+        // Arrange
+        String bcryptHash = BCrypt.hashpw("Secret#123", BCrypt.gensalt(10));
+        PasswordService passwordService = newPasswordService("pbkdf2", 0, false);
+
+        // Act & Assert
+        assertTrue(passwordService.verifyPassword("Secret#123", bcryptHash));
+        assertTrue(passwordService.needsRehash(bcryptHash));
+    }
+
+    @Test
+    void needsRehash_WeakerOrStrongerCost_OnlyUpgradesWeaker() {
+        // Arrange
+        PasswordService passwordService = newPasswordService("bcrypt", 11, false);
+
+        // Act & Assert
+        assertTrue(passwordService.needsRehash(BCrypt.hashpw("Secret#123", BCrypt.gensalt(10))));
+        assertFalse(passwordService.needsRehash(BCrypt.hashpw("Secret#123", BCrypt.gensalt(12))));
+    }
+
+    @Test
+    void init_Calibrate_PicksCostWithinTargetAndAboveMinimum() {
+        // Act
+        PasswordService passwordService = newPasswordService("pbkdf2", 0, true);
+
+        // Assert
+        assertTrue(passwordService.getHasher() instanceof Pbkdf2PasswordHasher);
+        assertTrue(passwordService.getHasher().getCost() >= 100_000);
+    }
+
+    @Test
+    void init_ConfiguredCost_IsUsed() {
+        // Act
+        PasswordService passwordService = newPasswordService("bcrypt", 10, false);
+
+        // Assert
+        assertTrue(passwordService.getHasher() instanceof BCryptPasswordHasher);
+        assertEquals(10, passwordService.getHasher().getCost());
+        assertTrue(passwordService.hashPassword("Secret#123").startsWith("$2a$10$"));
+    }
+
+    @Test
+    void init_UnknownAlgorithm_Fails() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> newPasswordService("md5", 0, false));
+    }
+
+    private PasswordService newPasswordService(String algorithm, int cost, boolean calibrate) {
+        if (hashingExecutor == null) {
+            hashingExecutor = new PasswordHashingExecutor();
+            ReflectionTestUtils.setField(hashingExecutor, "threads", 2);
+            ReflectionTestUtils.setField(hashingExecutor, "queueCapacity", 8);
+            ReflectionTestUtils.setField(hashingExecutor, "timeoutSeconds", 30L);
+            hashingExecutor.init();
+        }
+        PasswordService passwordService = new PasswordService();
+        ReflectionTestUtils.setField(passwordService, "hashAlgorithm", algorithm);
+        ReflectionTestUtils.setField(passwordService, "hashCost", cost);
+        ReflectionTestUtils.setField(passwordService, "calibrate", calibrate);
+        ReflectionTestUtils.setField(passwordService, "targetMillis", 50L);
+        ReflectionTestUtils.setField(passwordService, "argon2MemoryKb", 4096);
+        ReflectionTestUtils.setField(passwordService, "argon2Parallelism", 1);
+        ReflectionTestUtils.setField(passwordService, "hashingExecutor", hashingExecutor);
+        passwordService.init();
+        return passwordService;
+    }
+}
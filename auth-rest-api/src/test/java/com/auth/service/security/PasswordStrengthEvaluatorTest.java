@@ -0,0 +1,91 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.auth.service.security.breach.BreachedPasswordIndexBuilder;
+
+class PasswordStrengthEvaluatorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void evaluate_StrongPassword_IsAcceptable() {
+        // Act
+        PasswordStrength strength = newEvaluator(null).evaluate("Tr0ub4dor&3x");
+
+        // Assert
+        assertTrue(strength.isAcceptable());
+        assertFalse(strength.isBreached());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Sh0rt!", "alllower1!", "ALLUPPER1!", "NoDigits!!", "NoSpecial12"})
+    void evaluate_BrokenRule_ReportsSingleViolation(String password) {
+        // Act
+        PasswordStrength strength = newEvaluator(null).evaluate(password);
+
+        // Assert
+        assertFalse(strength.isAcceptable());
+        assertEquals(1, strength.getViolations().size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Password1~", "Password1`", "Password1é", "Password1密", "Passwordd١!",
+            "Éassword1!", "PASSWORDé1!"})
+    void evaluate_CharacterOutsideAsciiClasses_DoesNotSatisfyRule(String password) {
+        // Act
+        PasswordStrength strength = newEvaluator(null).evaluate(password);
+
+        // Assert
+        assertFalse(strength.isAcceptable());
+        assertEquals(1, strength.getViolations().size());
+    }
+
+    @Test
+    void evaluate_BreachedPassword_IsRejected() throws Exception {
+        // Arrange
+        Path index = directory.resolve("breached.idx");
+        try (OutputStream out = Files.newOutputStream(index)) {
+            BreachedPasswordIndexBuilder.build(new BufferedReader(new StringReader(sha1("P@ssw0rd123") + ":1000")), out);
+        }
+        PasswordStrengthEvaluator evaluator = newEvaluator(index.toString());
+
+        // Act
+        PasswordStrength strength = evaluator.evaluate("P@ssw0rd123");
+
+        // Assert
+        assertFalse(strength.isAcceptable());
+        assertTrue(strength.isBreached());
+        assertTrue(evaluator.evaluate("Tr0ub4dor&3x").isAcceptable());
+    }
+
+    private static PasswordStrengthEvaluator newEvaluator(String indexPath) {
+        PasswordStrengthEvaluator evaluator = new PasswordStrengthEvaluator();
+        ReflectionTestUtils.setField(evaluator, "breachIndexPath", indexPath);
+        evaluator.init();
+        return evaluator;
+    }
+
+    private static String sha1(String password) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(digest);
+    }
+}
@@ -0,0 +1,47 @@
+package com.auth.service.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Base64;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Writes throwaway PEM key pairs and builds key registries over them for tests.
+ */
+final class TestKeys {
+
+    private TestKeys() {}
+
+    static KeyPair writeKeyPair(Path directory, JwtAlgorithm algorithm) throws IOException {
+        KeyPair keyPair = algorithm.generateKeyPair();
+        writePem(directory.resolve("private.pem"), "PRIVATE KEY", keyPair.getPrivate());
+        writePem(directory.resolve("public.pem"), "PUBLIC KEY", keyPair.getPublic());
+        return keyPair;
+    }
+
+    static void writePem(Path file, String type, Key key) throws IOException {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(key.getEncoded());
+        Files.writeString(file, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+    }
+
+    static JwtKeyRegistry newRegistry(Path directory, JwtAlgorithm algorithm) {
+        return newRegistry(directory, algorithm, "");
+    }
+
+    static JwtKeyRegistry newRegistry(Path directory, JwtAlgorithm algorithm, String configuredKeyId) {
+        JwtKeyRegistry registry = new JwtKeyRegistry();
+        ReflectionTestUtils.setField(registry, "algorithmName", algorithm.name());
+        ReflectionTestUtils.setField(registry, "configuredKeyId", configuredKeyId);
+        ReflectionTestUtils.setField(registry, "privateKeyPath", directory.resolve("private.pem").toString());
+        ReflectionTestUtils.setField(registry, "publicKeyPath", directory.resolve("public.pem").toString());
+        ReflectionTestUtils.setField(registry, "retiredKeyRetentionSeconds", 86400L);
+        ReflectionTestUtils.setField(registry, "watchKeys", false);
+        registry.init();
+        return registry;
+    }
+}
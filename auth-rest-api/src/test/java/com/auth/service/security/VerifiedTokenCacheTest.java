@@ -0,0 +1,98 @@
+package com.auth.service.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        cache.init();
+    }
+
+    private Function<String, TokenClaims> verifierExpiringAt(Instant expiration) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new TokenClaims("testuser", 1L, List.of("ROLE_USER"), expiration, Instant.now(), "auth-server");
+        };
+    }
+
+    @Test
+    void get_RepeatedToken_VerifiesOnce() {
+        // Arrange
+        Function<String, TokenClaims> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // Act
+        TokenClaims first = cache.get("token", verifier);
+        TokenClaims second = cache.get("token", verifier);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void get_ExpiredEntry_VerifiesAgain() {
+        // Arrange
+        Function<String, TokenClaims> verifier = verifierExpiringAt(Instant.now().minusSeconds(1));
+
+        // Act
+        cache.get("token", verifier);
+        cache.get("token", verifier);
+
+        // Assert
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_VerificationFails_PropagatesAndDoesNotCache() {
+        // Arrange
+        Function<String, TokenClaims> failing = token -> {
+            verifications.incrementAndGet();
+            throw new RuntimeException("Failed to parse JWT token");
+        };
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> cache.get("token", failing));
+        assertThrows(RuntimeException.class, () -> cache.get("token", failing));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void get_Disabled_AlwaysVerifies() {
+        // Arrange
+        VerifiedTokenCache disabled = new VerifiedTokenCache();
+        Function<String, TokenClaims> verifier = verifierExpiringAt(Instant.now().plusSeconds(3600));
+
+        // Act
+        disabled.get("token", verifier);
+        disabled.get("token", verifier);
+
+        // Assert
+        assertEquals(2, verifications.get());
+    }
+}
@@ -0,0 +1,115 @@
+package com.auth.service.security.breach;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BreachedPasswordIndexTest {
+
+    private static final List<String> BREACHED = List.of("password", "123456", "Password1!", "qwerty", "letmein");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void contains_BreachedPasswords_AreFound() throws Exception {
+        // Arrange
+        BreachedPasswordIndex index = buildIndex(dumpOf(BREACHED));
+
+        // Act & Assert
+        assertEquals(BREACHED.size(), index.size());
+        for (String password : BREACHED) {
+            assertTrue(index.contains(password), password);
+        }
+        assertFalse(index.contains("correct horse battery staple"));
+        assertFalse(index.contains("Password1"));
+    }
+
+    @Test
+    void build_DuplicateHashes_AreWrittenOnce() throws Exception {
+        // Arrange
+        String dump = dumpOf(BREACHED);
+        String first = dump.lines().findFirst().orElseThrow();
+
+        // Act
+        long written = BreachedPasswordIndexBuilder.build(
+                new BufferedReader(new StringReader(first + "\n" + dump)), new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(BREACHED.size(), written);
+    }
+
+    @Test
+    void build_UnsortedInput_IsRejected() {
+        // Arrange
+        String reversed = dumpOf(BREACHED).lines().sorted((a, b) -> b.compareTo(a)).collect(Collectors.joining("\n"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BreachedPasswordIndexBuilder.build(
+                new BufferedReader(new StringReader(reversed)), OutputStream.nullOutputStream()));
+    }
+
+    @Test
+    void contains_EmptyIndex_FindsNothing() throws Exception {
+        // Act
+        BreachedPasswordIndex index = buildIndex("");
+
+        // Assert
+        assertEquals(0, index.size());
+        assertFalse(index.contains("password"));
+    }
+
+    @Test
+    void open_NotAnIndexFile_Fails() throws Exception {
+        // Arrange
+        Path file = Files.writeString(directory.resolve("garbage.idx"), "not an index");
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BreachedPasswordIndex.open(file));
+    }
+
+    private BreachedPasswordIndex buildIndex(String dump) throws IOException {
+        Path file = directory.resolve("breached.idx");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            BreachedPasswordIndexBuilder.build(new BufferedReader(new StringReader(dump)), out);
+        }
+        return BreachedPasswordIndex.open(file);
+    }
+
+    /**
+     * Formats passwords like the Have I Been Pwned download: uppercase SHA-1, a count, sorted by hash.
+     */
+    private static String dumpOf(List<String> passwords) {
+        return passwords.stream()
+                .map(BreachedPasswordIndexTest::sha1)
+                .sorted()
+                .map(hash -> hash + ":42")
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String sha1(String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().withUpperCase().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}